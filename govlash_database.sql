@@ -23,6 +23,38 @@ SET time_zone = "+00:00";
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `daily_service_rollups`
+--
+-- Pre-aggregated per day and service (by order date), maintained incrementally
+--
+
+CREATE TABLE `daily_service_rollups` (
+  `RollupDate` date NOT NULL,
+  `ServiceID` int(11) NOT NULL,
+  `OrderCount` int(11) NOT NULL DEFAULT 0,
+  `TotalWeight` double NOT NULL DEFAULT 0,
+  `Revenue` double NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `daily_staff_rollups`
+--
+-- Pre-aggregated per day and laundry staff (by finish date), maintained incrementally
+--
+
+CREATE TABLE `daily_staff_rollups` (
+  `RollupDate` date NOT NULL,
+  `LaundryStaffID` int(11) NOT NULL,
+  `OrderCount` int(11) NOT NULL DEFAULT 0,
+  `TotalWeight` double NOT NULL DEFAULT 0,
+  `Revenue` double NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `notifications`
 --
@@ -30,7 +62,7 @@ SET time_zone = "+00:00";
 CREATE TABLE `notifications` (
   `NotificationID` int(11) NOT NULL,
   `RecipientID` int(11) NOT NULL,
-  `TransactionID` int(11) NOT NULL,
+  `TransactionID` int(11) DEFAULT NULL,
   `NotificationMessage` varchar(255) NOT NULL,
   `CreatedAt` datetime NOT NULL,
   `IsRead` tinyint(1) NOT NULL
@@ -65,7 +97,9 @@ CREATE TABLE `transactions` (
   `TransactionDate` datetime NOT NULL,
   `TransactionStatus` varchar(20) NOT NULL,
   `TotalWeight` double NOT NULL,
-  `TransactionNotes` varchar(250) DEFAULT NULL
+  `TransactionNotes` varchar(250) DEFAULT NULL,
+  `AssignedAt` datetime DEFAULT NULL,
+  `FinishedAt` datetime DEFAULT NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 
 -- --------------------------------------------------------
@@ -78,7 +112,7 @@ CREATE TABLE `users` (
   `UserID` int(11) NOT NULL,
   `UserName` varchar(50) DEFAULT NULL,
   `UserEmail` varchar(50) DEFAULT NULL,
-  `UserPassword` varchar(50) DEFAULT NULL,
+  `UserPassword` varchar(255) DEFAULT NULL,
   `UserGender` char(10) DEFAULT NULL,
   `UserDOB` date DEFAULT NULL,
   `UserRole` char(30) DEFAULT NULL
@@ -95,13 +129,30 @@ INSERT INTO `users` (`UserID`, `UserName`, `UserEmail`, `UserPassword`, `UserGen
 -- Indexes for dumped tables
 --
 
+--
+-- Indexes for table `daily_service_rollups`
+--
+ALTER TABLE `daily_service_rollups`
+  ADD PRIMARY KEY (`RollupDate`,`ServiceID`);
+
+--
+-- Indexes for table `daily_staff_rollups`
+--
+ALTER TABLE `daily_staff_rollups`
+  ADD PRIMARY KEY (`RollupDate`,`LaundryStaffID`);
+
 --
 -- Indexes for table `notifications`
 --
 ALTER TABLE `notifications`
   ADD PRIMARY KEY (`NotificationID`),
   ADD KEY `RecipientID` (`RecipientID`),
-  ADD KEY `TransactionID` (`TransactionID`);
+  ADD KEY `TransactionID` (`TransactionID`),
+  ADD KEY `RecipientCreatedAt` (`RecipientID`,`CreatedAt`,`NotificationID`),
+  ADD KEY `CreatedAt` (`CreatedAt`),
+  ADD KEY `ReadCreatedAt` (`IsRead`,`CreatedAt`),
+  ADD KEY `RecipientTransaction` (`RecipientID`,`TransactionID`,`CreatedAt`),
+  ADD FULLTEXT KEY `NotificationMessage` (`NotificationMessage`);
 
 --
 -- Indexes for table `services`
@@ -117,13 +168,23 @@ ALTER TABLE `transactions`
   ADD KEY `ServiceID` (`ServiceID`),
   ADD KEY `CustomerID` (`CustomerID`),
   ADD KEY `ReceptionistID` (`ReceptionistID`),
-  ADD KEY `LaundryStaffID` (`LaundryStaffID`);
+  ADD KEY `LaundryStaffID` (`LaundryStaffID`),
+  ADD KEY `StaffStatus` (`LaundryStaffID`,`TransactionStatus`),
+  ADD KEY `TransactionDate` (`TransactionDate`),
+  ADD KEY `StatusDate` (`TransactionStatus`,`TransactionDate`),
+  ADD KEY `CustomerDate` (`CustomerID`,`TransactionDate`),
+  ADD KEY `ServiceDate` (`ServiceID`,`TransactionDate`),
+  ADD KEY `FinishedAt` (`FinishedAt`),
+  ADD FULLTEXT KEY `TransactionNotes` (`TransactionNotes`);
 
 --
 -- Indexes for table `users`
 --
 ALTER TABLE `users`
-  ADD PRIMARY KEY (`UserID`);
+  ADD PRIMARY KEY (`UserID`),
+  ADD UNIQUE KEY `UserName` (`UserName`),
+  ADD UNIQUE KEY `UserEmail` (`UserEmail`),
+  ADD KEY `UserRole` (`UserRole`);
 
 --
 -- AUTO_INCREMENT for dumped tables
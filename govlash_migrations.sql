@@ -0,0 +1,79 @@
+--
+-- Upgrades for databases created from an older govlash_database.sql
+-- (new installs get all of this from the dump). Run in order, once each.
+--
+
+-- --------------------------------------------------------
+
+--
+-- Broadcast notifications are not tied to a transaction
+--
+ALTER TABLE `notifications`
+  MODIFY `TransactionID` int(11) DEFAULT NULL;
+
+-- --------------------------------------------------------
+
+--
+-- Unique usernames / emails (the availability check relies on these keys)
+--
+-- Adding a UNIQUE key fails while duplicates exist. Find them first:
+--   SELECT UserName, COUNT(*) FROM users GROUP BY UserName HAVING COUNT(*) > 1;
+--   SELECT UserEmail, COUNT(*) FROM users GROUP BY UserEmail HAVING COUNT(*) > 1;
+-- and rename or remove the extra accounts before running this.
+--
+ALTER TABLE `users`
+  ADD UNIQUE KEY `UserName` (`UserName`),
+  ADD UNIQUE KEY `UserEmail` (`UserEmail`),
+  ADD KEY `UserRole` (`UserRole`);
+
+-- --------------------------------------------------------
+
+--
+-- Passwords are stored as PBKDF2 hashes (about 83 characters)
+--
+ALTER TABLE `users`
+  MODIFY `UserPassword` varchar(255) DEFAULT NULL;
+
+-- --------------------------------------------------------
+
+--
+-- Full-text search over transaction notes and notifications
+--
+ALTER TABLE `transactions`
+  ADD FULLTEXT KEY `TransactionNotes` (`TransactionNotes`);
+
+ALTER TABLE `notifications`
+  ADD FULLTEXT KEY `NotificationMessage` (`NotificationMessage`);
+
+-- --------------------------------------------------------
+
+--
+-- Daily report rollups (filled by the startup backfill on first run)
+--
+CREATE TABLE `daily_service_rollups` (
+  `RollupDate` date NOT NULL,
+  `ServiceID` int(11) NOT NULL,
+  `OrderCount` int(11) NOT NULL DEFAULT 0,
+  `TotalWeight` double NOT NULL DEFAULT 0,
+  `Revenue` double NOT NULL DEFAULT 0,
+  PRIMARY KEY (`RollupDate`,`ServiceID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+CREATE TABLE `daily_staff_rollups` (
+  `RollupDate` date NOT NULL,
+  `LaundryStaffID` int(11) NOT NULL,
+  `OrderCount` int(11) NOT NULL DEFAULT 0,
+  `TotalWeight` double NOT NULL DEFAULT 0,
+  `Revenue` double NOT NULL DEFAULT 0,
+  PRIMARY KEY (`RollupDate`,`LaundryStaffID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Assignment / finish times (turnaround, staff productivity)
+--
+ALTER TABLE `transactions`
+  ADD `AssignedAt` datetime DEFAULT NULL,
+  ADD `FinishedAt` datetime DEFAULT NULL,
+  ADD KEY `FinishedAt` (`FinishedAt`);
@@ -1,12 +1,47 @@
 package controller;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+import database.Connect;
+import model.AnalyticsReport;
+import model.AvailabilityCheck;
+import model.EmployeeRoster;
+import model.NotificationCoalescer;
 import model.NotificationModel;
+import model.OverdueAlert;
+import model.OverdueTracker;
+import model.RollupModel;
+import model.RollupTotal;
+import model.ServiceCatalog;
 import model.ServiceModel;
+import model.StaffMetrics;
+import model.StaffStats;
 import model.TransactionModel;
+import model.TransactionAnalytics;
+import model.TransactionSearchCriteria;
+import model.TransactionSummary;
+import model.UserCache;
 import model.UserModel;
+import model.UserSummary;
 
 /**
  * AdminController
@@ -18,7 +53,14 @@ import model.UserModel;
  * - Manage laundry services (add, delete, retrieve)
  * - Manage employee accounts and validation
  * - View and filter all transactions
+ * - Search transactions by typed criteria or notes text (paged)
  * - Send system-generated notifications to customers
+ * - Broadcast a message to customer segments
+ * - Export / bulk import transactions as CSV (streamed)
+ * - Revenue and volume reports from the daily rollups
+ * - Full-history analytics (parallel)
+ * - Live staff performance (throughput, turnaround)
+ * - Overdue order alerts
  *
  * Notes:
  * - Acts as the Controller layer in MVC
@@ -30,10 +72,12 @@ public class AdminController {
 	// Defined here so that it doesn't ask for static later
 	private TransactionModel transactionModel;
     private ServiceModel serviceModel;
+    private RollupModel rollupModel;
     
     public AdminController() {
         this.transactionModel = new TransactionModel();
         this.serviceModel = new ServiceModel();
+        this.rollupModel = new RollupModel();
     }
 
     // ================= SERVICES =================
@@ -59,6 +103,7 @@ public class AdminController {
             
             // 3. Delegate to Model to Save
             newService.save();
+            ServiceCatalog.getInstance().invalidate();
             
             return "Success";
         } catch (NumberFormatException e) {
@@ -69,11 +114,12 @@ public class AdminController {
     // Deleting a service
     public void deleteService(int serviceID) {
         serviceModel.delete(serviceID);
+        ServiceCatalog.getInstance().invalidate();
     }
 
     // ================= EMPLOYEES =================
     public List<UserModel> getAllEmployees() {
-    	return new UserModel().getAllEmployees();
+    	return EmployeeRoster.getInstance().getAllEmployees();
     }
 
     // Validation for adding a new Employee
@@ -89,8 +135,11 @@ public class AdminController {
             return "All fields must be filled.";
         }
 
+        // ===== USERNAME / EMAIL UNIQUE (one combined probe) =====
+        AvailabilityCheck taken = UserModel.checkAvailability(employee.getUserName(), employee.getUserEmail());
+        
         // ===== USERNAME UNIQUE =====
-        if (UserModel.isUsernameExists(employee.getUserName())) {
+        if (taken.isUsernameTaken()) {
             return "Username already exists.";
         }
 
@@ -100,7 +149,7 @@ public class AdminController {
         }
 
         // ===== EMAIL UNIQUE =====
-        if (UserModel.isEmailExists(employee.getUserEmail())) {
+        if (taken.isEmailTaken()) {
             return "Email already exists.";
         }
 
@@ -123,13 +172,64 @@ public class AdminController {
         }
 
         // ===== SAVE =====
-        employee.save(); 
+        if (!employee.save()) return "Could not add the employee. The username or email may already be taken.";
+        EmployeeRoster.getInstance().invalidate();	// New employee => reload roster
         return "Success";
     }
 
     // ================= TRANSACTIONS =================
-    public List<TransactionModel> getTransactions(String statusFilter) {
-        return transactionModel.getAllTransactions(statusFilter); 
+    // Rows loaded for the dashboard's client-side filters (indexed in memory, see TransactionIndex)
+    public static final int TRANSACTION_WORKING_SET = 20000;
+
+    public List<TransactionSummary> getTransactionWorkingSet() {
+        return transactionModel.getTransactionSummaries("All", TRANSACTION_WORKING_SET);
+    }
+
+    // ================= TRANSACTION SEARCH =================
+    public static final int SEARCH_PAGE_SIZE = 100;
+
+    // Customer typed by name in the search form; null when unknown
+    public Integer findUserID(String userName) {
+        if (userName == null || userName.isBlank()) return null;
+        return new UserModel().getUserIDByName(userName.trim());
+    }
+
+    // Fills one page of results after the cursor row (null = first page)
+    public String searchTransactions(TransactionSearchCriteria criteria, TransactionSummary cursor, List<TransactionSummary> page) {
+        String error = criteria.validate();
+        if (error != null) return error;
+
+        List<TransactionSummary> found = transactionModel.search(criteria, cursor, SEARCH_PAGE_SIZE);
+        preloadUserNames(found);
+        page.addAll(found);
+        return "Success";
+    }
+
+    // Full-text search over transaction notes, ranked (offset = results already shown)
+    public String searchTransactionNotes(String text, int offset, List<TransactionSummary> page) {
+        if (text == null || text.isBlank()) return "Please enter text to search for.";
+
+        List<TransactionSummary> found = transactionModel.searchNotes(text.trim(), offset, SEARCH_PAGE_SIZE);
+        preloadUserNames(found);
+        page.addAll(found);
+        return "Success";
+    }
+
+    // Resolve user names for a page of transactions (receptionist who assigned it)
+    // One cache lookup (at most one query) for the whole page; table cells read the returned map only,
+    // so an unknown or evicted ID never turns into a query per cell
+    public Map<Integer, String> preloadUserNames(List<TransactionSummary> transactions) {
+        Set<Integer> ids = new HashSet<>();	// Few distinct receptionists across many rows
+        for (TransactionSummary t : transactions) {
+            if (t.getReceptionistID() != null) ids.add(t.getReceptionistID());
+        }
+        Map<Integer, String> names = new HashMap<>();
+        for (UserSummary u : UserCache.getInstance().getAll(ids).values()) names.put(u.getUserID(), u.getUserName());
+        return names;
+    }
+    
+    public String getUserName(Integer userID) {
+        return UserCache.getInstance().getName(userID);
     }
 
     // Auto-generate Notification message and send
@@ -137,10 +237,152 @@ public class AdminController {
         // 1. Create the premade message using String.format to insert the ID
         String message = String.format("Good news! Your order #%d is finished and ready for pickup. Thank you for choosing GoVlash!", transactionID);
         
-        // 2. Create the notification object
-        NotificationModel notif = new NotificationModel(customerID, transactionID, message);
+        // 2. Send through the coalescer so a re-sent notice updates the existing row
+        NotificationCoalescer.getInstance().submit(customerID, transactionID, message);
+    }
+    
+    // ================= BROADCAST =================
+    // Recipients are read in chunks and each chunk is written with one multi-row INSERT
+    public static final int BROADCAST_CHUNK_SIZE = 1000;
+    
+    // Send a message to all customers (activeDays = 0) or to customers with a
+    // transaction in the last activeDays days. progress receives (sent, total).
+    public String broadcastNotification(String message, int activeDays, BiConsumer<Integer, Integer> progress) {
+        if (message == null || message.trim().isEmpty()) return "Message cannot be empty.";
+        if (message.length() > 255) return "Message cannot exceed 255 characters.";
+        if (activeDays < 0) return "Activity window must be 0 or more days.";
+        
+        UserModel userModel = new UserModel();
+        NotificationModel notificationModel = new NotificationModel();
         
-        // 3. Save to database
-        notif.save(); 
+        int total = userModel.countCustomers(activeDays);
+        int sent = 0;
+        int lastID = 0;
+        progress.accept(0, total);
+        
+        while (true) {
+            List<Integer> ids = userModel.getCustomerIDs(activeDays, lastID, BROADCAST_CHUNK_SIZE);
+            if (ids.isEmpty()) break;
+            
+            int saved = notificationModel.saveBroadcast(ids, message);
+            if (saved != ids.size()) {
+                return "Broadcast stopped after " + sent + " of " + total + " customers: the database rejected a batch.";
+            }
+            sent += saved;
+            lastID = ids.get(ids.size() - 1);
+            progress.accept(sent, Math.max(total, sent));
+            
+            if (ids.size() < BROADCAST_CHUNK_SIZE) break;
+        }
+        
+        return "Success";
+    }
+
+    // ================= EXPORT =================
+    // Progress is reported every EXPORT_PROGRESS_ROWS rows
+    public static final int EXPORT_PROGRESS_ROWS = 1000;
+    
+    // Stream transactions in [from, to] (inclusive, null = open end) to a CSV file, optionally gzip-compressed.
+    // Rows go straight from a streaming result set to a buffered file channel, so memory stays
+    // constant whatever the row count. progress receives (written, total).
+    public String exportTransactions(File file, LocalDate from, LocalDate to, boolean gzip, BiConsumer<Long, Long> progress) {
+        if (file == null) return "Please choose a file to export to.";
+        if (from != null && to != null && from.isAfter(to)) return "Start date must be before end date.";
+        
+        long total = transactionModel.countBetween(from, to);
+        long[] written = { 0 };
+        progress.accept(0L, total);
+        
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Connection con = Connect.getConnection().openDedicatedConnection()) {
+            
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            if (gzip) out = new GZIPOutputStream(out, 1 << 16);
+            
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+                w.write("TransactionID,TransactionDate,Customer,Service,ServicePrice,TotalWeight,TotalPrice,Staff,Status,Notes\n");
+                
+                transactionModel.streamSummaries(con, from, to, t -> {
+                    w.write(t.getTransactionID() + "," + t.getTransactionDate() + ","
+                            + csv(t.getCustomerName()) + "," + csv(t.getServiceName()) + ","
+                            + t.getServicePrice() + "," + t.getTotalWeight() + "," + t.getTotalPrice() + ","
+                            + csv(t.getStaffName()) + "," + t.getTransactionStatus() + ","
+                            + csv(t.getTransactionNotes()) + "\n");
+                    
+                    if (++written[0] % EXPORT_PROGRESS_ROWS == 0) progress.accept(written[0], Math.max(total, written[0]));
+                });
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "Export failed: " + e.getMessage();
+        }
+        
+        progress.accept(written[0], written[0]);
+        return "Success";
+    }
+    
+    // ================= IMPORT =================
+    // Bulk import from CSV; rejected rows are written to errorReport. See TransactionImporter for the format.
+    // Returns "Success" with the counts in importer, or an error message.
+    public String importTransactions(TransactionImporter importer, BiConsumer<Long, Long> progress) {
+        if (importer == null) return "Please choose a file to import.";
+        return importer.run(progress);
+    }
+    
+    // ================= ROLLUP REPORTS =================
+    // Read only the daily rollup tables (never Transactions), so month / year ranges answer instantly
+    public List<RollupTotal> getServiceReport(LocalDate from, LocalDate to) {
+        return rollupModel.getServiceTotals(from, to);
+    }
+    
+    public List<RollupTotal> getStaffReport(LocalDate from, LocalDate to) {
+        return rollupModel.getStaffTotals(from, to);
+    }
+    
+    // Per day for a month range, per month for a year range
+    public List<RollupTotal> getPeriodReport(LocalDate from, LocalDate to, boolean monthly) {
+        return rollupModel.getPeriodTotals(from, to, monthly);
+    }
+    
+    // Recompute every rollup from transaction history. progress receives (months done, total months).
+    public String rebuildRollups(BiConsumer<Integer, Integer> progress) {
+        try {
+            rollupModel.rebuildAll(progress);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "Rebuild failed: " + e.getMessage();
+        }
+        return "Success";
+    }
+    
+    // ================= SLA =================
+    // Open orders past their due date (in memory, see OverdueTracker)
+    public List<OverdueAlert> getOverdueAlerts() {
+        return OverdueTracker.getInstance().getOverdue();
+    }
+    
+    // ================= STAFF PERFORMANCE =================
+    // Rolling per-staff stats from memory (jobs/hour, kg/hour, p50/p90 turnaround); no history scan
+    public List<StaffStats> getStaffPerformance() {
+        return StaffMetrics.getInstance().getStats();
+    }
+    
+    // ================= ANALYTICS =================
+    // Full-history statistics (per-service averages, busiest hours and weekdays,
+    // turnaround p50 / p90 per service and overall), computed in parallel. Null on failure.
+    public AnalyticsReport runAnalytics() {
+        try {
+            return new TransactionAnalytics().run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+    
+    // Quote a text field for CSV (null => empty)
+    private static String csv(String value) {
+        if (value == null) return "";
+        return "\"" + value.replace("\"", "\"\"") + "\"";
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,11 @@ package controller;
 import java.util.ArrayList;
 import java.util.List;
 
+import model.EtaEstimate;
+import model.EtaEstimator;
 import model.NotificationModel;
+import model.OverdueTracker;
+import model.RollupModel;
 import model.ServiceModel;
 import model.TransactionModel;
 
@@ -16,8 +20,9 @@ import model.TransactionModel;
  * Responsibilities:
  * - Validate and create new transactions
  * - Retrieve customer transaction history
- * - Retrieve, read, and delete notifications
+ * - Retrieve, read, and delete notifications (single or bulk)
  * - Provide available services for customer selection
+ * - Estimate when an order will be ready (EtaEstimator)
  *
  * Notes:
  * - Part of the Controller layer in MVC
@@ -27,14 +32,34 @@ import model.TransactionModel;
 
 public class CustomerController {
 	
+	// Number of notifications fetched per page in the inbox
+	public static final int NOTIFICATION_PAGE_SIZE = 20;
+	
 	// ===== CREATE TRANSACTION =====
 	public String createTransaction(int serviceID, int customerID, String weightStr, String notes) {
         
         // Validate weight and TransactionNotes
+        String error = validateTransactionInput(weightStr, notes);
+        if (!"Success".equals(error)) return error;
+        
+        // Makes a new Transaction Object
+        TransactionModel t = new TransactionModel(serviceID, customerID, Double.parseDouble(weightStr), notes);
+        t.save();	// Save it to the database
+        if (t.getTransactionID() <= 0) return "Failed to save the transaction. Please try again.";
+        
+        new RollupModel().recordOrder(serviceID, t.getTotalWeight());	// Keep today's report totals current
+        OverdueTracker.getInstance().orderCreated(t.getTransactionID(), customerID, serviceID, t.getTransactionDate());
+        EtaEstimator.getInstance().orderCreated();
+
+        return "Success";
+    }
+
+    // Order rules shared by the order form and the bulk importer (TransactionImporter)
+    public static String validateTransactionInput(String weightStr, String notes) {
         double weight;
         try {
             weight = Double.parseDouble(weightStr);
-        } catch (NumberFormatException e) {
+        } catch (NumberFormatException | NullPointerException e) {
             return "Weight must be a valid number.";
         }
 
@@ -42,14 +67,9 @@ public class CustomerController {
             return "Weight must be between 2 and 50kg.";
         }
 
-        if (notes.length() > 250) {
+        if (notes != null && notes.length() > 250) {
             return "Notes cannot exceed 250 characters.";
         }
-        
-        // Makes a new Transaction Object
-        TransactionModel t = new TransactionModel(serviceID, customerID, weight, notes);
-        t.save();	// Save it to the database
-
         return "Success";
     }
 
@@ -67,6 +87,23 @@ public class CustomerController {
         return nmodel.getByRecipient(customerID);
     }
     
+    // Get the next page of notifications (after = last loaded item, null for the first page)
+    public ArrayList<NotificationModel> getNotificationPage(int customerID, NotificationModel after) {
+        NotificationModel nmodel = new NotificationModel();
+        return nmodel.getPageByRecipient(customerID, after, NOTIFICATION_PAGE_SIZE);
+    }
+    
+    // Full-text search over the customer's notifications, best match first (after = last loaded match, null for the first page)
+    public ArrayList<NotificationModel> searchNotifications(int customerID, String text, NotificationModel after) {
+        if (text == null || text.isBlank()) return new ArrayList<>();
+        return new NotificationModel().searchByRecipient(customerID, text.trim(), after, NOTIFICATION_PAGE_SIZE);
+    }
+    
+    // Load the full notification body (list pages only carry a preview)
+    public String getNotificationMessage(NotificationModel notification) {
+        return notification.loadMessage();
+    }
+    
     // Mark Selected Notification as read
     public void markNotificationRead(NotificationModel notification) {
         notification.markAsRead();
@@ -77,9 +114,39 @@ public class CustomerController {
         notification.delete();
     }
     
+    // ===== BULK NOTIFICATION ACTIONS =====
+    // Each runs as a single UPDATE/DELETE and returns the number of affected rows
+    public int markAllNotificationsRead(int customerID) {
+        return new NotificationModel().markAllAsRead(customerID);
+    }
+    
+    public int markNotificationsRead(int customerID, List<NotificationModel> selected) {
+        return new NotificationModel().markAsRead(customerID, selected);
+    }
+    
+    public int deleteNotifications(int customerID, List<NotificationModel> selected) {
+        return new NotificationModel().delete(customerID, selected);
+    }
+    
+    public int deleteReadNotifications(int customerID) {
+        return new NotificationModel().deleteAllRead(customerID);
+    }
+    
     // === Fetch all services for the ComboBox ===
     public List<ServiceModel> getAllServices() {
         ServiceModel serviceModel = new ServiceModel();
         return serviceModel.getAllServices();
     }
+    
+    // ===== READY TIME ESTIMATES =====
+    
+    // For the order form: an order for this service placed now
+    public EtaEstimate estimateReadyTime(ServiceModel service) {
+        return service == null ? null : EtaEstimator.getInstance().estimateNewOrder(service.getServiceID());
+    }
+    
+    // For the history: null once the order is finished
+    public EtaEstimate estimateReadyTime(TransactionModel transaction) {
+        return EtaEstimator.getInstance().estimate(transaction);
+    }
 }
@@ -11,8 +11,10 @@ import model.UserModel;
  *
  * Responsibilities:
  * - Validate login input (username and password)
+ * - Rate limit attempts per username and terminal
  * - Request user authentication from the UserModel
  * - Return the authenticated user for role-based navigation
+ * - Open, lock, unlock and close sessions (SessionManager)
  *
  * Notes:
  * - Part of the Controller layer in MVC
@@ -23,9 +25,13 @@ import model.UserModel;
 public class LoginController {
 	// Defined here so that it doesn't ask for static later
 	private UserModel userModel;
+	private SessionManager sessionManager;
+	private LoginRateLimiter rateLimiter;
 
     public LoginController() {
         this.userModel = new UserModel();
+        this.sessionManager = SessionManager.getInstance();
+        this.rateLimiter = LoginRateLimiter.getInstance();
     }
 
     public UserModel validateLogin(String username, String password) {
@@ -35,16 +41,54 @@ public class LoginController {
             return null;
         }
 
+        // === Rate limit (rejected attempts never reach the database) ===
+        long waitMillis = rateLimiter.tryAcquire(username);
+        if (waitMillis > 0) {
+            showAlert("Too Many Attempts", "Too many login attempts. Please wait " + ((waitMillis + 999) / 1000) + " seconds and try again.");
+            return null;
+        }
+
+        // === Recently verified on this terminal? (no database query) ===
+        UserModel user = sessionManager.authenticateCached(username, password);
+
         // === Request Data from Model ===
-        UserModel user = userModel.getLoginUser(username, password);
+        if (user == null) {
+            user = userModel.getLoginUser(username, password);
+        }
 
         // === Handle specific failure case ===
         if (user == null) {
+            rateLimiter.recordFailure(username);
             showAlert("Login Failed", "Invalid Username or Password.");
+            return null;
         }
 
+        rateLimiter.recordSuccess(username);
+        sessionManager.open(user, password);
         return user;
     }
+    
+    // ===== SESSIONS =====
+    // Start a session for a user that was just registered (no second login query)
+    public Session startSession(UserModel user, String password) {
+        return sessionManager.open(user, password);
+    }
+    
+    public Session getCurrentSession() {
+        return sessionManager.getCurrent();
+    }
+    
+    public void logout() {
+        sessionManager.close(sessionManager.getCurrent());
+    }
+    
+    public void lockTerminal() {
+        sessionManager.lock(sessionManager.getCurrent());
+    }
+    
+    public boolean unlockTerminal(String password) {
+        return sessionManager.unlock(sessionManager.getCurrent(), password);
+    }
 
     // Helper to show alerts (keeps View cleaner)
     private void showAlert(String title, String message) {
@@ -0,0 +1,167 @@
+package controller;
+
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LoginRateLimiter
+ * ----------
+ * In-process token-bucket rate limiter for login attempts.
+ *
+ * Responsibilities:
+ * - Limit attempts per username and per terminal before any query runs
+ * - Count failed attempts and slow a username down after repeated failures
+ * - Forget idle entries (bounded, expiring state)
+ *
+ * Notes:
+ * - State is split into lock stripes, each with its own small LRU map,
+ *   so concurrent attempts for different keys do not contend on one lock
+ * - Per username: burst of 5, then 1 attempt every 20 seconds
+ * - Per terminal: burst of 20, then 1 attempt every 3 seconds
+ * - 5 failures within 15 minutes empty the username bucket again
+ * - Terminal id defaults to the host name (-Dgovlash.terminal.id to override)
+ */
+
+public final class LoginRateLimiter {
+	
+	private static final int STRIPES = 16;
+	private static final int ENTRIES_PER_STRIPE = 256;
+	private static final long ENTRY_TTL_MILLIS = 15 * 60_000L;
+	
+	private static final double USER_CAPACITY = 5;
+	private static final double USER_REFILL_PER_MS = 1.0 / 20_000;
+	private static final double TERMINAL_CAPACITY = 20;
+	private static final double TERMINAL_REFILL_PER_MS = 1.0 / 3_000;
+	private static final int MAX_FAILURES = 5;
+	
+	private final Stripe[] stripes = new Stripe[STRIPES];
+	private final String terminalID;
+	
+	// Singleton instance
+	private static LoginRateLimiter instance;
+	
+	// One bucket (plus failure counter) per key
+	private static final class Bucket {
+		double tokens;
+		long lastRefill;
+		int failures;
+		long lastSeen;
+		
+		Bucket(double capacity, long now) {
+			this.tokens = capacity;
+			this.lastRefill = now;
+			this.lastSeen = now;
+		}
+	}
+	
+	// Lock stripe: its own monitor and its own bounded, access-ordered map
+	private static final class Stripe {
+		final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+				return size() > ENTRIES_PER_STRIPE
+					|| System.currentTimeMillis() - eldest.getValue().lastSeen > ENTRY_TTL_MILLIS;
+			}
+		};
+	}
+	
+	private LoginRateLimiter() {
+		for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+		terminalID = System.getProperty("govlash.terminal.id", hostName());
+	}
+	
+	public static synchronized LoginRateLimiter getInstance() {
+		return instance = (instance == null) ? new LoginRateLimiter() : instance;
+	}
+	
+	// Returns 0 if the attempt may proceed, otherwise the milliseconds to wait
+	public long tryAcquire(String username) {
+		String userKey = "u:" + username.trim().toLowerCase();
+		String terminalKey = "t:" + terminalID;
+		
+		long wait = take(terminalKey, TERMINAL_CAPACITY, TERMINAL_REFILL_PER_MS);
+		if (wait > 0) return wait;
+		
+		wait = take(userKey, USER_CAPACITY, USER_REFILL_PER_MS);
+		if (wait > 0) refund(terminalKey, TERMINAL_CAPACITY);	// Rejected attempt should not cost the terminal
+		return wait;
+	}
+	
+	// Wrong password: after MAX_FAILURES the username has to wait for a full refill cycle
+	public void recordFailure(String username) {
+		String key = "u:" + username.trim().toLowerCase();
+		Stripe stripe = stripeFor(key);
+		
+		synchronized (stripe) {
+			Bucket b = bucket(stripe, key, USER_CAPACITY);
+			if (++b.failures >= MAX_FAILURES) {
+				b.tokens = 0;
+				b.failures = 0;
+			}
+		}
+	}
+	
+	// Successful login: forget failures and give the username its full burst back
+	public void recordSuccess(String username) {
+		String key = "u:" + username.trim().toLowerCase();
+		Stripe stripe = stripeFor(key);
+		
+		synchronized (stripe) {
+			stripe.buckets.remove(key);
+		}
+	}
+	
+	// ===== TOKEN BUCKET =====
+	private long take(String key, double capacity, double refillPerMs) {
+		Stripe stripe = stripeFor(key);
+		
+		synchronized (stripe) {
+			Bucket b = bucket(stripe, key, capacity);
+			long now = System.currentTimeMillis();
+			
+			b.tokens = Math.min(capacity, b.tokens + (now - b.lastRefill) * refillPerMs);
+			b.lastRefill = now;
+			
+			if (b.tokens >= 1) {
+				b.tokens -= 1;
+				return 0;
+			}
+			return (long) Math.ceil((1 - b.tokens) / refillPerMs);
+		}
+	}
+	
+	private void refund(String key, double capacity) {
+		Stripe stripe = stripeFor(key);
+		
+		synchronized (stripe) {
+			Bucket b = stripe.buckets.get(key);
+			if (b != null) b.tokens = Math.min(capacity, b.tokens + 1);
+		}
+	}
+	
+	// Caller must hold the stripe lock
+	private Bucket bucket(Stripe stripe, String key, double capacity) {
+		long now = System.currentTimeMillis();
+		Bucket b = stripe.buckets.get(key);
+		
+		if (b == null || now - b.lastSeen > ENTRY_TTL_MILLIS) {
+			b = new Bucket(capacity, now);
+			stripe.buckets.put(key, b);
+		}
+		b.lastSeen = now;
+		return b;
+	}
+	
+	private Stripe stripeFor(String key) {
+		return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+	}
+	
+	private static String hostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (Exception e) {
+			return "local";
+		}
+	}
+}
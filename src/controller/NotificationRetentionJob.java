@@ -0,0 +1,146 @@
+package controller;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import model.NotificationModel;
+
+/**
+ * NotificationRetentionJob
+ * ----------
+ * Background job that removes old notifications so the Notifications table
+ * does not grow forever.
+ *
+ * Responsibilities:
+ * - Run on a schedule in a background (daemon) thread
+ * - Delete notifications older than the configured age, in small batches
+ * - Optionally archive purged rows to a gzip-compressed CSV file first
+ * - Report how many rows were purged
+ *
+ * Notes:
+ * - Mode "read" only purges notifications already read, "all" purges everything past the age limit
+ * - Each batch is a short DELETE by primary key so row locks are held only briefly
+ * - Configured through system properties (see fromSystemProperties)
+ */
+
+public class NotificationRetentionJob {
+	
+	// Default configuration
+	public static final int DEFAULT_MAX_AGE_DAYS = 90;
+	public static final int DEFAULT_BATCH_SIZE = 500;
+	public static final int DEFAULT_PERIOD_HOURS = 24;
+	
+	private final int maxAgeDays;
+	private final boolean readOnly;
+	private final File archiveDir;		// Nullable (no archive)
+	private final int batchSize;
+	
+	private final NotificationModel notificationModel = new NotificationModel();
+	private ScheduledExecutorService scheduler;
+	
+	public NotificationRetentionJob(int maxAgeDays, boolean readOnly, File archiveDir, int batchSize) {
+		this.maxAgeDays = maxAgeDays;
+		this.readOnly = readOnly;
+		this.archiveDir = archiveDir;
+		this.batchSize = batchSize;
+	}
+	
+	// Builds the job from -Dgovlash.retention.* properties
+	//   govlash.retention.days    (default 90)
+	//   govlash.retention.mode    "read" or "all" (default read)
+	//   govlash.retention.archive directory for archives (default: no archive)
+	//   govlash.retention.batch   rows per DELETE (default 500)
+	public static NotificationRetentionJob fromSystemProperties() {
+		int days = Integer.getInteger("govlash.retention.days", DEFAULT_MAX_AGE_DAYS);
+		boolean readOnly = !"all".equalsIgnoreCase(System.getProperty("govlash.retention.mode", "read"));
+		String archive = System.getProperty("govlash.retention.archive");
+		int batch = Integer.getInteger("govlash.retention.batch", DEFAULT_BATCH_SIZE);
+		
+		return new NotificationRetentionJob(days, readOnly, archive == null ? null : new File(archive), batch);
+	}
+	
+	// Start running the job every periodHours (first run shortly after startup)
+	public void start(long periodHours) {
+		if (scheduler != null) return;
+		
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "notification-retention");
+			t.setDaemon(true);
+			return t;
+		});
+		scheduler.scheduleWithFixedDelay(this::runOnce, 1, TimeUnit.HOURS.toMinutes(periodHours), TimeUnit.MINUTES);
+	}
+	
+	public void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+	
+	// Purge everything past the age limit, one batch at a time. Returns the number of rows purged.
+	public int runOnce() {
+		int purged = 0;
+		Writer archive = null;
+		
+		try {
+			while (true) {
+				List<NotificationModel> batch = notificationModel.getExpired(maxAgeDays, readOnly, batchSize);
+				if (batch.isEmpty()) break;
+				
+				// Archive before deleting, so a failed write never loses rows
+				if (archiveDir != null) {
+					if (archive == null) archive = openArchive();
+					for (NotificationModel n : batch) writeRow(archive, n);
+					archive.flush();
+				}
+				
+				int deleted = notificationModel.purge(batch);
+				purged += deleted;
+				
+				// Nothing deleted (DB error) or last partial batch => done
+				if (deleted == 0 || batch.size() < batchSize) break;
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		} finally {
+			if (archive != null) {
+				try { archive.close(); } catch (Exception e) { e.printStackTrace(); }
+			}
+		}
+		
+		System.out.println("Notification retention: purged " + purged + " row(s) older than " + maxAgeDays
+				+ " days (" + (readOnly ? "read only" : "all") + ").");
+		return purged;
+	}
+	
+	// One gzip file per run: notifications-yyyyMMdd-HHmmss.csv.gz
+	private Writer openArchive() throws Exception {
+		archiveDir.mkdirs();
+		String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+		File file = new File(archiveDir, "notifications-" + stamp + ".csv.gz");
+		
+		Writer w = new BufferedWriter(new OutputStreamWriter(
+				new GZIPOutputStream(new FileOutputStream(file)), StandardCharsets.UTF_8));
+		w.write("NotificationID,RecipientID,TransactionID,NotificationMessage,CreatedAt,IsRead\n");
+		return w;
+	}
+	
+	private void writeRow(Writer w, NotificationModel n) throws Exception {
+		// Broadcasts have no TransactionID: empty field, like NULL in a CSV import
+		w.write(n.getNotificationID() + "," + n.getRecipientID() + "," + (n.getTransactionID() == null ? "" : n.getTransactionID()) + ","
+				+ "\"" + n.getMessage().replace("\"", "\"\"") + "\","
+				+ n.getCreatedAt() + "," + (n.isRead() ? 1 : 0) + "\n");
+	}
+}
@@ -1,7 +1,13 @@
 package controller;
 
 import java.util.List;
+import model.EmployeeRoster;
+import model.EtaEstimator;
+import model.OverdueAlert;
+import model.OverdueTracker;
 import model.TransactionModel;
+import model.TransactionSummary;
+import model.UserCache;
 import model.UserModel;
 
 /**
@@ -14,6 +20,7 @@ import model.UserModel;
  * - Retrieve unassigned pending transactions
  * - Retrieve available laundry staff
  * - Assign transactions to staff members
+ * - Report overdue orders
  *
  * Notes:
  * - Acts as the Controller layer in MVC
@@ -24,21 +31,25 @@ import model.UserModel;
 public class ReceptionistController {
 	// Defined here so that it doesn't ask for static later
     private TransactionModel transactionModel;
-    private UserModel userModel;
 
     public ReceptionistController() {
         this.transactionModel = new TransactionModel();
-        this.userModel = new UserModel();
     }
 
-    // Get Transactions that need assignment (Have no StaffID & ReceptionistID)
-    public List<TransactionModel> getUnassignedTransactions() {
-        return transactionModel.getUnassignedPendingTransactions();
+    // Get Transactions that need assignment (Have no StaffID & ReceptionistID),
+    // one page at a time (cursor = last row of the previous page, null = first page)
+    public List<TransactionSummary> getUnassignedTransactions(TransactionSummary cursor) {
+        return transactionModel.getUnassignedPendingSummaries(cursor, TransactionModel.PAGE_SIZE);
     }
 
-    // Get list of Laundry Staff Employees
+    // Get list of Laundry Staff Employees (served from the in-memory roster)
     public List<UserModel> getLaundryStaffList() {
-        return userModel.getLaundryStaff();
+        return EmployeeRoster.getInstance().getByRole("Laundry Staff");
+    }
+    
+    // Number of Pending jobs currently assigned to a staff member
+    public int getOpenJobCount(UserModel staff) {
+        return EmployeeRoster.getInstance().getOpenJobCount(staff.getUserID());
     }
 
     // Assigning a Transaction with no StaffID & ReceptionistID to the selected Laundry Staff
@@ -47,8 +58,23 @@ public class ReceptionistController {
         if (staff == null) return "Please select a Staff worker.";
 
         // Execute Update, Pass the selected StaffID and the logged-in Receptionist's ID
-        transaction.assignStaff(staff.getUserID(), receptionistID);
+        // (the in-memory engines only hear about it when this call actually assigned the row)
+        if (transaction.assignStaff(staff.getUserID(), receptionistID) == 0) {
+            return "Transaction #" + transaction.getTransactionID() + " was already assigned. Please refresh the list.";
+        }
+        EmployeeRoster.getInstance().jobAssigned(staff.getUserID());
+        OverdueTracker.getInstance().orderAssigned(transaction.getTransactionID(), staff.getUserID());
+        EtaEstimator.getInstance().orderAssigned();
         
         return "Success";
     }
+    
+    // Open orders past their due date (in memory, see OverdueTracker)
+    public List<OverdueAlert> getOverdueAlerts() {
+        return OverdueTracker.getInstance().getOverdue();
+    }
+    
+    public String getUserName(Integer userID) {
+        return UserCache.getInstance().getName(userID);
+    }
 }
\ No newline at end of file
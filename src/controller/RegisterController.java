@@ -2,7 +2,11 @@ package controller;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
 
+import model.AvailabilityCheck;
 import model.UserModel;
 
 /**
@@ -15,6 +19,7 @@ import model.UserModel;
  * - Enforce username and email uniqueness
  * - Validate password rules and age requirement
  * - Save new user data through the UserModel
+ * - Answer live username / email availability checks (short-TTL cache)
  *
  * Notes:
  * - Acts as the Controller layer in MVC
@@ -23,6 +28,45 @@ import model.UserModel;
  */
 
 public class RegisterController {
+	
+	// ===== LIVE AVAILABILITY CHECK (as-you-type) =====
+	// Short-lived cache of probe results shared by all register screens,
+	// so retyping the same value does not query again
+	private static final long AVAILABILITY_TTL_MILLIS = 30_000;
+	private static final Map<String, CachedProbe> availabilityCache = new ConcurrentHashMap<>();
+	
+	private static final class CachedProbe {
+		final boolean taken;
+		final long expiresAt;
+		
+		CachedProbe(boolean taken, long expiresAt) {
+			this.taken = taken;
+			this.expiresAt = expiresAt;
+		}
+	}
+	
+	// true = taken, false = free (safe to call from a background thread)
+	public boolean isUsernameTaken(String username) {
+		return cachedProbe("u:" + username.trim().toLowerCase(), () -> UserModel.isUsernameExists(username.trim()));
+	}
+	
+	public boolean isEmailTaken(String email) {
+		return cachedProbe("e:" + email.trim().toLowerCase(), () -> UserModel.isEmailExists(email.trim()));
+	}
+	
+	private boolean cachedProbe(String key, BooleanSupplier probe) {
+		long now = System.currentTimeMillis();
+		CachedProbe hit = availabilityCache.get(key);
+		if (hit != null && hit.expiresAt > now) return hit.taken;
+		
+		boolean taken = probe.getAsBoolean();
+		availabilityCache.put(key, new CachedProbe(taken, now + AVAILABILITY_TTL_MILLIS));
+		
+		// Keep the cache small: drop expired entries once it grows
+		if (availabilityCache.size() > 500) availabilityCache.values().removeIf(v -> v.expiresAt <= now);
+		return taken;
+	}
+	
 	// Register Input Validation
 	public String register(UserModel user, String confirmPassword) {
 
@@ -36,8 +80,11 @@ public class RegisterController {
             return "All fields must be filled.";
         }
 
+        // ===== USERNAME / EMAIL UNIQUE (one combined probe) =====
+        AvailabilityCheck taken = UserModel.checkAvailability(user.getUserName(), user.getUserEmail());
+        
         // ===== USERNAME UNIQUE =====
-        if (UserModel.isUsernameExists(user.getUserName())) {
+        if (taken.isUsernameTaken()) {
             return "Username already exists.";
         }
 
@@ -47,7 +94,7 @@ public class RegisterController {
         }
 
         // ===== EMAIL UNIQUE =====
-        if (UserModel.isEmailExists(user.getUserEmail())) {
+        if (taken.isEmailTaken()) {
             return "Email already exists.";
         }
 
@@ -70,7 +117,7 @@ public class RegisterController {
         }
 
         // ===== SAVE =====
-        user.save();
+        if (!user.save()) return "Registration failed. The username or email may already be taken.";
         return "Success";
     }
 }
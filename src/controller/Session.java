@@ -0,0 +1,43 @@
+package controller;
+
+import model.UserModel;
+
+/**
+ * Session
+ * ----------
+ * One authenticated user on this terminal.
+ *
+ * Notes:
+ * - Created and tracked by SessionManager
+ * - Holds the authenticated UserModel and role, so screens never need to
+ *   reload the user from the database
+ * - A locked session keeps the user signed in but hides the dashboard
+ *   until the password is entered again
+ */
+
+public class Session {
+	
+	private final String token;
+	private final UserModel user;
+	private final long createdAt;
+	private volatile long lastActive;
+	private volatile boolean locked;
+	
+	Session(String token, UserModel user) {
+		this.token = token;
+		this.user = user;
+		this.createdAt = System.currentTimeMillis();
+		this.lastActive = createdAt;
+	}
+	
+	// Getters
+	public String getToken() { return token; }
+	public UserModel getUser() { return user; }
+	public String getRole() { return user.getUserRole(); }
+	public long getCreatedAt() { return createdAt; }
+	public long getLastActive() { return lastActive; }
+	public boolean isLocked() { return locked; }
+	
+	void touch() { lastActive = System.currentTimeMillis(); }
+	void setLocked(boolean locked) { this.locked = locked; }
+}
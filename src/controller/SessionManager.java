@@ -0,0 +1,167 @@
+package controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.UserModel;
+
+/**
+ * SessionManager
+ * ----------
+ * In-memory session handling for this terminal.
+ *
+ * Responsibilities:
+ * - Issue a random session token after a successful login or registration
+ * - Cache the authenticated user and role for the session
+ * - Re-authenticate recent users in memory, so a shared counter terminal
+ *   that logs in and out all day does not query the database every time
+ * - Lock / unlock the terminal without ending the session
+ *
+ * Notes:
+ * - Singleton, like Connect
+ * - Passwords are never kept in memory: only a salted SHA-256 verifier
+ * - Cached credentials expire after -Dgovlash.session.ttl minutes (default 480)
+ */
+
+public final class SessionManager {
+	
+	private static final int MAX_CACHED_CREDENTIALS = 100;
+	
+	private final long credentialTtlMillis = Integer.getInteger("govlash.session.ttl", 480) * 60_000L;
+	private final SecureRandom random = new SecureRandom();
+	
+	// token -> session
+	private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+	
+	// lower-case username -> recently verified credential.
+	// Access-ordered LinkedHashMap = least recently used first (guarded by itself)
+	private final LinkedHashMap<String, CachedCredential> credentials = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedCredential> eldest) {
+			return size() > MAX_CACHED_CREDENTIALS;
+		}
+	};
+	
+	// Session currently shown on this terminal
+	private volatile Session current;
+	
+	// Singleton instance
+	private static SessionManager instance;
+	
+	private static final class CachedCredential {
+		final UserModel user;
+		final byte[] salt;
+		final byte[] verifier;
+		final long expiresAt;
+		
+		CachedCredential(UserModel user, byte[] salt, byte[] verifier, long expiresAt) {
+			this.user = user;
+			this.salt = salt;
+			this.verifier = verifier;
+			this.expiresAt = expiresAt;
+		}
+	}
+	
+	private SessionManager() {}
+	
+	public static synchronized SessionManager getInstance() {
+		return instance = (instance == null) ? new SessionManager() : instance;
+	}
+	
+	// ===== AUTHENTICATION =====
+	
+	// Returns the cached user if this username/password was verified recently, otherwise null
+	// (null means "ask the database", not "wrong password")
+	public UserModel authenticateCached(String username, String password) {
+		CachedCredential cred;
+		synchronized (credentials) {
+			cred = credentials.get(username.toLowerCase());
+			if (cred == null) return null;
+			
+			if (cred.expiresAt < System.currentTimeMillis()) {
+				credentials.remove(username.toLowerCase());
+				return null;
+			}
+		}
+		return MessageDigest.isEqual(cred.verifier, digest(cred.salt, password)) ? cred.user : null;
+	}
+	
+	// Start a session for a user whose password was just verified (login or registration)
+	public Session open(UserModel user, String password) {
+		rememberCredential(user, password);
+		
+		Session session = new Session(newToken(), user);
+		sessions.put(session.getToken(), session);
+		current = session;
+		return session;
+	}
+	
+	// End a session (logout). The credential stays cached for a quick re-login.
+	public void close(Session session) {
+		if (session == null) return;
+		sessions.remove(session.getToken());
+		if (current == session) current = null;
+	}
+	
+	public Session getCurrent() { return current; }
+	
+	public Session get(String token) {
+		Session s = sessions.get(token);
+		if (s != null) s.touch();
+		return s;
+	}
+	
+	// ===== TERMINAL LOCK =====
+	public void lock(Session session) {
+		if (session != null) session.setLocked(true);
+	}
+	
+	// Unlock with the session user's password (checked in memory)
+	public boolean unlock(Session session, String password) {
+		if (session == null) return false;
+		
+		UserModel user = authenticateCached(session.getUser().getUserName(), password);
+		if (user == null) return false;
+		
+		session.setLocked(false);
+		session.touch();
+		return true;
+	}
+	
+	// ===== HELPERS =====
+	private void rememberCredential(UserModel user, String password) {
+		byte[] salt = new byte[16];
+		random.nextBytes(salt);
+		CachedCredential cred = new CachedCredential(user, salt, digest(salt, password), System.currentTimeMillis() + credentialTtlMillis);
+		
+		// Bounded: drop expired entries first; if still full, put() evicts the least recently used one
+		synchronized (credentials) {
+			if (credentials.size() >= MAX_CACHED_CREDENTIALS) {
+				long now = System.currentTimeMillis();
+				credentials.values().removeIf(c -> c.expiresAt < now);
+			}
+			credentials.put(user.getUserName().toLowerCase(), cred);
+		}
+	}
+	
+	private String newToken() {
+		byte[] bytes = new byte[32];
+		random.nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+	
+	private static byte[] digest(byte[] salt, String password) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(salt);
+			return md.digest(password.getBytes(StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,7 +1,13 @@
 package controller;
 
 import java.util.List;
+import model.EmployeeRoster;
+import model.EtaEstimator;
+import model.OverdueTracker;
+import model.RollupModel;
+import model.StaffMetrics;
 import model.TransactionModel;
+import model.TransactionSummary;
 
 /**
  * StaffController
@@ -26,16 +32,27 @@ public class StaffController {
         this.transactionModel = new TransactionModel();
     }
 
-    // Get ONLY Pending Transactions assigned to the specific logged-in staff
-    public List<TransactionModel> getPendingTransactions(int staffID) {
-        return transactionModel.getJobQueueForStaff(staffID);
+    // Get ONLY Pending Transactions assigned to the specific logged-in staff,
+    // one page at a time (cursor = last row of the previous page, null = first page)
+    public List<TransactionSummary> getPendingTransactions(int staffID, TransactionSummary cursor) {
+        return transactionModel.getJobQueueSummariesForStaff(staffID, cursor, TransactionModel.PAGE_SIZE);
     }
 
     // Finish an Order (Change TransactionStatus)
-    public void finishTransaction(TransactionModel t) {
-        if (t != null) {
-            // Update Database to 'Finished'
-            t.updateTransactionStatus(); 
+    // The in-memory engines only hear about it when this call actually changed the row
+    public String finishTransaction(TransactionModel t) {
+        if (t == null) return "Please select a job to finish.";
+        
+        // Update Database to 'Finished'
+        if (t.updateTransactionStatus() == 0) return "Job #" + t.getTransactionID() + " was already finished.";
+        
+        OverdueTracker.getInstance().orderFinished(t.getTransactionID());
+        if (t.getLaundryStaffID() != null) {
+            EmployeeRoster.getInstance().jobFinished(t.getLaundryStaffID());
+            new RollupModel().recordFinish(t.getLaundryStaffID(), t.getServiceID(), t.getTotalWeight());
+            StaffMetrics.getInstance().recordFinish(t.getLaundryStaffID(), t.getTotalWeight(), t.getAssignedAt(), t.getFinishedAt());
+            EtaEstimator.getInstance().orderFinished(t.getServiceID(), t.getAssignedAt(), t.getFinishedAt());
         }
+        return "Success";
     }
 }
\ No newline at end of file
@@ -0,0 +1,369 @@
+package controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+
+import database.Connect;
+import model.EtaEstimator;
+import model.OverdueTracker;
+import model.RollupModel;
+import model.ServiceModel;
+import model.TransactionModel;
+import model.UserCache;
+import model.UserSummary;
+
+/**
+ * TransactionImporter
+ * ----------
+ * Bulk import of transactions from a CSV file (partner branch migration,
+ * paper tickets).
+ *
+ * Responsibilities:
+ * - Parse the CSV incrementally (at most one chunk of records in memory)
+ * - Validate each row with the same rules as the order form
+ *   (CustomerController.validateTransactionInput) plus catalog checks
+ *   (service exists, customer exists and is a Customer)
+ * - Resolve the customers of a chunk with one UserCache.getAll lookup
+ * - Insert valid rows in chunks with one multi-row INSERT per chunk
+ * - Write rejected rows to an error report (line number, reason, raw values)
+ * - Measure throughput in rows per second
+ * - Rebuild the daily rollups for the imported dates
+ *
+ * Expected columns (header row required, names case-insensitive):
+ *   CustomerID, Service (ID or name), TotalWeight, TransactionNotes,
+ *   TransactionDate (optional, yyyy-MM-dd [HH:mm:ss]), TransactionStatus (optional)
+ *
+ * Notes:
+ * - Runs on a dedicated connection, one database transaction per chunk
+ * - A chunk the database rejects is retried row by row: valid rows are still
+ *   imported, only the offending rows are reported, and the import continues
+ * - Files ending in .gz are decompressed on the fly
+ */
+
+public class TransactionImporter {
+
+	// Rows per multi-row INSERT (and per commit)
+	public static final int CHUNK_SIZE = 500;
+
+	private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	private final File source;
+	private final File errorReport;
+
+	// Results of the last run
+	private long imported;
+	private long rejected;
+	private double rowsPerSecond;
+	private LocalDate firstDate, lastDate;		// Order dates covered by imported rows (for the rollup rebuild)
+
+	private final TransactionModel transactionModel = new TransactionModel();
+	private final Map<String, Integer> serviceIDs = new HashMap<>();	// Lowercase name / ID text => ServiceID
+
+	public TransactionImporter(File source, File errorReport) {
+		this.source = source;
+		this.errorReport = errorReport;
+	}
+
+	// Import the whole file. progress receives (bytes read, file size). Returns "Success" or an error message.
+	public String run(BiConsumer<Long, Long> progress) {
+		imported = 0;
+		rejected = 0;
+		rowsPerSecond = 0;
+		firstDate = lastDate = null;
+
+		// Service catalog is small: load it once, check every row against it
+		for (ServiceModel s : new ServiceModel().getAllServices()) {
+			serviceIDs.put(String.valueOf(s.getServiceID()), s.getServiceID());
+			serviceIDs.put(s.getServiceName().toLowerCase(), s.getServiceID());
+		}
+
+		long start = System.nanoTime();
+		long size = source.length();
+
+		try (FileInputStream in = new FileInputStream(source);
+		     Reader reader = new BufferedReader(new InputStreamReader(
+		             source.getName().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in, StandardCharsets.UTF_8), 1 << 16);
+		     Writer errors = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(errorReport), StandardCharsets.UTF_8));
+		     Connection con = Connect.getConnection().openDedicatedConnection()) {
+
+			errors.write("Line,Error,Record\n");
+			con.setAutoCommit(false);
+
+			CsvReader csv = new CsvReader(reader);
+			List<String> header = csv.next();
+			if (header == null) return "The file is empty.";
+
+			Map<String, Integer> columns = new HashMap<>();
+			for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim().toLowerCase(), i);
+			for (String required : new String[] { "customerid", "service", "totalweight" }) {
+				if (!columns.containsKey(required)) return "Missing column: " + required;
+			}
+
+			// Raw records of the current chunk, validated together once it is full
+			List<Long> chunkLines = new ArrayList<>();
+			List<List<String>> chunkRecords = new ArrayList<>();
+
+			List<String> record;
+			while ((record = csv.next()) != null) {
+				if (record.size() == 1 && record.get(0).isBlank()) continue;	// Empty line
+
+				chunkLines.add(csv.getRecordLine());
+				chunkRecords.add(record);
+
+				if (chunkRecords.size() == CHUNK_SIZE) {
+					importChunk(con, chunkLines, chunkRecords, columns, errors);
+					progress.accept(in.getChannel().position(), size);
+				}
+			}
+			importChunk(con, chunkLines, chunkRecords, columns, errors);
+			
+			// Imported orders are dated in the past: recompute the affected rollup days
+			if (firstDate != null) new RollupModel().rebuild(con, firstDate, lastDate);
+			
+			// Imported Pending orders need due-date timers too
+			if (imported > 0) {
+				OverdueTracker.getInstance().reload();
+				EtaEstimator.getInstance().invalidate();	// Recount the unassigned backlog
+			}
+			progress.accept(size, size);
+
+		} catch (Exception e) {
+			e.printStackTrace();
+			return "Import failed: " + e.getMessage();
+		} finally {
+			double seconds = (System.nanoTime() - start) / 1e9;
+			rowsPerSecond = seconds > 0 ? imported / seconds : 0;
+		}
+		return "Success";
+	}
+
+	public long getImported() { return imported; }
+	public long getRejected() { return rejected; }
+	public double getRowsPerSecond() { return rowsPerSecond; }
+
+	// ===== VALIDATION =====
+
+	// Returns the reason the row cannot be imported, or null when it is valid
+	// (customers = the chunk's customers, resolved in one lookup)
+	private String validate(List<String> record, Map<String, Integer> columns, Map<Integer, UserSummary> customers) {
+		String rule = CustomerController.validateTransactionInput(field(record, columns, "totalweight"), field(record, columns, "transactionnotes"));
+		if (!"Success".equals(rule)) return rule;
+
+		String service = field(record, columns, "service");
+		if (service == null || !serviceIDs.containsKey(service.toLowerCase())) return "Unknown service: " + service;
+
+		Integer customerID = parseInt(field(record, columns, "customerid"));
+		if (customerID == null) return "CustomerID must be a number.";
+		UserSummary customer = customers.get(customerID);
+		if (customer == null || !"Customer".equalsIgnoreCase(customer.getUserRole())) return "Unknown customer: " + customerID;
+
+		String date = field(record, columns, "transactiondate");
+		if (date != null && parseDate(date) == null) return "Invalid date: " + date;
+
+		String status = field(record, columns, "transactionstatus");
+		if (status != null && !"Pending".equalsIgnoreCase(status) && !"Finished".equalsIgnoreCase(status)) {
+			return "Status must be Pending or Finished.";
+		}
+		return null;
+	}
+
+	private TransactionModel toTransaction(List<String> record, Map<String, Integer> columns) {
+		String status = field(record, columns, "transactionstatus");
+		String date = field(record, columns, "transactiondate");
+
+		return new TransactionModel(0,
+				serviceIDs.get(field(record, columns, "service").toLowerCase()),
+				parseInt(field(record, columns, "customerid")),
+				null, null,
+				date == null ? null : parseDate(date),
+				status == null ? "Pending" : ("finished".equalsIgnoreCase(status) ? "Finished" : "Pending"),
+				Double.parseDouble(field(record, columns, "totalweight")),
+				field(record, columns, "transactionnotes"));
+	}
+
+	// ===== INSERT =====
+
+	// Validate one chunk of raw records (one customer lookup for all of them), then insert the valid rows
+	private void importChunk(Connection con, List<Long> lines, List<List<String>> records, Map<String, Integer> columns, Writer errors) throws Exception {
+		if (records.isEmpty()) return;
+
+		List<Integer> customerIDs = new ArrayList<>();
+		for (List<String> record : records) customerIDs.add(parseInt(field(record, columns, "customerid")));
+		Map<Integer, UserSummary> customers = UserCache.getInstance().getAll(customerIDs);
+
+		List<TransactionModel> chunk = new ArrayList<>();
+		List<Long> chunkLines = new ArrayList<>();
+		List<List<String>> chunkRecords = new ArrayList<>();
+
+		for (int i = 0; i < records.size(); i++) {
+			String error = validate(records.get(i), columns, customers);
+			if (error != null) {
+				reject(errors, lines.get(i), error, records.get(i));
+				continue;
+			}
+			chunk.add(toTransaction(records.get(i), columns));
+			chunkLines.add(lines.get(i));
+			chunkRecords.add(records.get(i));
+		}
+		flush(con, chunk, chunkLines, chunkRecords, errors);
+
+		lines.clear();
+		records.clear();
+	}
+
+	// Insert and commit one chunk; if the database rejects it, roll back and retry
+	// row by row so only the rows the database refuses are reported
+	private void flush(Connection con, List<TransactionModel> chunk, List<Long> lines, List<List<String>> records, Writer errors) throws Exception {
+		if (chunk.isEmpty()) return;
+
+		try {
+			imported += transactionModel.saveAll(con, chunk);
+			con.commit();
+			for (TransactionModel t : chunk) trackDate(t);
+		} catch (Exception e) {
+			con.rollback();
+			for (int i = 0; i < chunk.size(); i++) {
+				try {
+					imported += transactionModel.saveAll(con, List.of(chunk.get(i)));
+					con.commit();
+					trackDate(chunk.get(i));
+				} catch (Exception rowError) {
+					con.rollback();
+					reject(errors, lines.get(i), "Database error: " + rowError.getMessage(), records.get(i));
+				}
+			}
+		}
+	}
+
+	// Widen the imported date range (for the rollup rebuild)
+	private void trackDate(TransactionModel t) {
+		LocalDate date = t.getTransactionDate() == null ? LocalDate.now() : LocalDate.parse(t.getTransactionDate().substring(0, 10));
+		if (firstDate == null || date.isBefore(firstDate)) firstDate = date;
+		if (lastDate == null || date.isAfter(lastDate)) lastDate = date;
+	}
+
+	private void reject(Writer errors, long line, String reason, List<String> record) throws Exception {
+		rejected++;
+		errors.write(line + "," + quote(reason) + "," + quote(String.join(",", record)) + "\n");
+	}
+
+	// ===== HELPERS =====
+
+	// Trimmed value of a column, null when the column is missing or the value is blank
+	private static String field(List<String> record, Map<String, Integer> columns, String name) {
+		Integer index = columns.get(name);
+		if (index == null || index >= record.size()) return null;
+		String value = record.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	private static Integer parseInt(String value) {
+		try {
+			return value == null ? null : Integer.valueOf(value);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	// Accepts "yyyy-MM-dd HH:mm:ss" or "yyyy-MM-dd"; returns the database format or null
+	private static String parseDate(String value) {
+		try {
+			return LocalDateTime.parse(value, DATE_TIME).format(DATE_TIME);
+		} catch (DateTimeParseException e) {
+			try {
+				return LocalDate.parse(value).atStartOfDay().format(DATE_TIME);
+			} catch (DateTimeParseException e2) {
+				return null;
+			}
+		}
+	}
+
+	private static String quote(String value) {
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+
+	// ===== CSV READER =====
+	// Reads one record per call (RFC 4180 quoting, quoted fields may contain commas and line breaks)
+	private static class CsvReader {
+		private final Reader reader;
+		private long line = 1;			// Current physical line
+		private long recordLine;		// Line the last record started on
+		private int pending = -2;		// One character of look-ahead (-2 = none)
+
+		CsvReader(Reader reader) {
+			this.reader = reader;
+		}
+
+		long getRecordLine() { return recordLine; }
+
+		// Next record, or null at end of file
+		List<String> next() throws Exception {
+			int c = read();
+			if (c == -1) return null;
+
+			recordLine = line;
+			List<String> record = new ArrayList<>();
+			StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+
+			while (true) {
+				if (quoted) {
+					if (c == -1) break;								// Unterminated quote: take what we have
+					if (c == '"') {
+						int n = read();
+						if (n == '"') field.append('"');				// Escaped quote
+						else { quoted = false; c = n; continue; }
+					} else {
+						if (c == '\n') line++;
+						field.append((char) c);
+					}
+				} else if (c == '"' && field.length() == 0) {
+					quoted = true;
+				} else if (c == ',') {
+					record.add(field.toString());
+					field.setLength(0);
+				} else if (c == '\r' || c == '\n' || c == -1) {
+					if (c == '\r') {
+						int n = read();
+						if (n != '\n') pending = n;
+					}
+					if (c != -1) line++;
+					break;
+				} else {
+					field.append((char) c);
+				}
+				c = read();
+			}
+			record.add(field.toString());
+			return record;
+		}
+
+		private int read() throws Exception {
+			if (pending != -2) {
+				int c = pending;
+				pending = -2;
+				return c;
+			}
+			return reader.read();
+		}
+	}
+}
@@ -84,4 +84,23 @@ public final class Connect {
         }
         return ps;
     }
+    
+    // Same as above, but the statement can return generated keys (e.g. new AUTO_INCREMENT IDs)
+    // autoGeneratedKeys = Statement.RETURN_GENERATED_KEYS
+    public PreparedStatement prepareStatement(String query, int autoGeneratedKeys) {
+        PreparedStatement ps = null;
+        try {
+            ps = con.prepareStatement(query, autoGeneratedKeys);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ps;
+    }
+    
+    // Opens a separate connection for long-running work (streaming exports, bulk imports, analytics).
+    // A streaming result set holds its connection until fully read, so it must not use the shared one.
+    // The caller owns the connection and must close it (try-with-resources).
+    public Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(CONNECTION, USERNAME, PASSWORD);
+    }
 }
@@ -2,6 +2,12 @@ package main;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import controller.NotificationRetentionJob;
+import model.CredentialBloomFilter;
+import model.NotificationCoalescer;
+import model.OverdueTracker;
+import model.PasswordHasher;
+import model.RollupModel;
 import view.LoginView;
 
 /**
@@ -13,6 +19,7 @@ import view.LoginView;
  * - Initialize the JavaFX application
  * - Configure the main application window
  * - Load the initial LoginView
+ * - Start and stop background jobs (notification retention, digests, rollup backfill, SLA timers)
  *
  * Notes:
  * - Extends JavaFX Application class
@@ -24,6 +31,9 @@ public class Main extends Application {
 	
 	public static final int WIDTH = 900;
     public static final int HEIGHT = 600;
+    
+    // Background purge of old notifications
+    private NotificationRetentionJob retentionJob;
 
     @Override
     public void start(Stage stage) {
@@ -32,7 +42,38 @@ public class Main extends Application {
         stage.setHeight(HEIGHT);
         stage.setResizable(false);
 
-        new LoginView(stage);
+        // Warm the username / email filter so registration checks skip the database
+        CredentialBloomFilter.getInstance().load();
+        
+        // Resolve the password work factor now (auto mode calibrates here, not on first login)
+        PasswordHasher.getIterations();
+        
+        LoginView.show(stage);
+        
+        retentionJob = NotificationRetentionJob.fromSystemProperties();
+        retentionJob.start(NotificationRetentionJob.DEFAULT_PERIOD_HOURS);
+        
+        // First run with rollup tables: backfill them from history in the background
+        Thread backfill = new Thread(() -> {
+            RollupModel rollups = new RollupModel();
+            try {
+                if (rollups.isEmpty()) rollups.rebuildAll((done, total) -> {});
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, "rollup-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+        
+        // Due-date timers for open orders (loads in its own thread)
+        OverdueTracker.getInstance().start();
+    }
+    
+    @Override
+    public void stop() {
+        if (retentionJob != null) retentionJob.stop();
+        OverdueTracker.getInstance().stop();
+        NotificationCoalescer.getInstance().shutdown();
     }
 
     public static void main(String[] args) {
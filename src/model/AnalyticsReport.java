@@ -0,0 +1,69 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AnalyticsReport
+ * ---------------
+ * Result of one TransactionAnalytics run over the full transaction history.
+ *
+ * Holds:
+ * - Per service: order count, total kg, revenue (average kg = total / orders)
+ * - Orders per hour of day (0-23) and per weekday (0 = Monday)
+ * - Turnaround (assignment to finish) p50 / p90 in hours, per service and overall
+ * - Row count and timings (load from the database, parallel compute)
+ */
+
+public class AnalyticsReport {
+	
+	private final List<RollupTotal> services;
+	private final long[] hourCounts;
+	private final long[] weekdayCounts;
+	private final Map<String, double[]> turnaroundByService;	// Service name -> { p50, p90 }
+	private final double turnaroundP50;
+	private final double turnaroundP90;
+	private final int rows;
+	private final long loadMillis;
+	private final long computeMillis;
+	
+	public AnalyticsReport(List<RollupTotal> services, long[] hourCounts, long[] weekdayCounts,
+	                       Map<String, double[]> turnaroundByService, double turnaroundP50, double turnaroundP90,
+	                       int rows, long loadMillis, long computeMillis) {
+		this.services = services;
+		this.hourCounts = hourCounts;
+		this.weekdayCounts = weekdayCounts;
+		this.turnaroundByService = turnaroundByService;
+		this.turnaroundP50 = turnaroundP50;
+		this.turnaroundP90 = turnaroundP90;
+		this.rows = rows;
+		this.loadMillis = loadMillis;
+		this.computeMillis = computeMillis;
+	}
+	
+	// Per-service totals (label = service name), most orders first
+	public List<RollupTotal> getServices() { return services; }
+	
+	public long[] getHourCounts() { return hourCounts; }
+	public long[] getWeekdayCounts() { return weekdayCounts; }
+	public double getTurnaroundP50() { return turnaroundP50; }
+	public double getTurnaroundP90() { return turnaroundP90; }
+	
+	// { p50, p90 } turnaround hours of one service (NaN when no finished job has both times)
+	public double[] getTurnaround(String serviceName) {
+		double[] value = turnaroundByService.get(serviceName);
+		return value == null ? new double[] { Double.NaN, Double.NaN } : value;
+	}
+	public int getRows() { return rows; }
+	public long getLoadMillis() { return loadMillis; }
+	public long getComputeMillis() { return computeMillis; }
+	
+	// Hours of the day ordered by order count, busiest first
+	public List<Integer> getBusiestHours() {
+		List<Integer> hours = new ArrayList<>();
+		for (int h = 0; h < 24; h++) hours.add(h);
+		hours.sort((a, b) -> Long.compare(hourCounts[b], hourCounts[a]));
+		return hours;
+	}
+}
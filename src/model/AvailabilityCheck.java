@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * AvailabilityCheck
+ * -----------------
+ * Result of the combined username / email existence probe
+ * (UserModel.checkAvailability).
+ */
+
+public class AvailabilityCheck {
+	
+	private final boolean usernameTaken;
+	private final boolean emailTaken;
+	
+	public AvailabilityCheck(boolean usernameTaken, boolean emailTaken) {
+		this.usernameTaken = usernameTaken;
+		this.emailTaken = emailTaken;
+	}
+	
+	// Getters
+	public boolean isUsernameTaken() { return usernameTaken; }
+	public boolean isEmailTaken() { return emailTaken; }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import database.Connect;
+
+/**
+ * CredentialBloomFilter
+ * ---------------------
+ * In-memory Bloom filter of every username and email already taken.
+ *
+ * Responsibilities:
+ * - Answer "definitely free" for most new usernames / emails without a query
+ * - Be loaded once on startup and updated whenever a user is saved
+ *
+ * Notes:
+ * - A Bloom filter has no false negatives: "not contained" means free for sure,
+ *   "maybe contained" still has to be confirmed by the database
+ * - Values are compared lower-case, matching the case-insensitive column collation
+ * - 2^20 bits (128 KB) with 5 hash functions keeps false positives well under 1%
+ *   up to ~100k users
+ * - Singleton, like Connect
+ */
+
+public final class CredentialBloomFilter {
+	
+	private static final int BITS = 1 << 20;
+	private static final int HASHES = 5;
+	
+	private final AtomicLongArray words = new AtomicLongArray(BITS / 64);
+	private volatile boolean loaded;
+	
+	// Singleton instance
+	private static CredentialBloomFilter instance;
+	
+	private CredentialBloomFilter() {}
+	
+	public static synchronized CredentialBloomFilter getInstance() {
+		return instance = (instance == null) ? new CredentialBloomFilter() : instance;
+	}
+	
+	// Load every existing username and email (called on startup, safe to call again)
+	public synchronized void load() {
+		String query = "SELECT UserName, UserEmail FROM Users";
+		
+		try (ResultSet rs = Connect.getConnection().executeQuery(query)) {
+			while (rs.next()) {
+				addUsername(rs.getString("UserName"));
+				addEmail(rs.getString("UserEmail"));
+			}
+			loaded = true;
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	public void addUsername(String username) { add("u:", username); }
+	public void addEmail(String email) { add("e:", email); }
+	
+	// false => definitely free, true => maybe taken (ask the database).
+	// Until the filter is loaded everything is "maybe".
+	public boolean mightContainUsername(String username) { return mightContain("u:", username); }
+	public boolean mightContainEmail(String email) { return mightContain("e:", email); }
+	
+	// ===== BLOOM FILTER =====
+	private void add(String prefix, String value) {
+		if (value == null) return;
+		long[] h = hash(prefix, value);
+		for (int i = 0; i < HASHES; i++) {
+			int bit = index(h, i);
+			long mask = 1L << (bit & 63);
+			words.getAndUpdate(bit >>> 6, w -> w | mask);
+		}
+	}
+	
+	private boolean mightContain(String prefix, String value) {
+		if (!loaded || value == null) return true;
+		long[] h = hash(prefix, value);
+		for (int i = 0; i < HASHES; i++) {
+			int bit = index(h, i);
+			if ((words.get(bit >>> 6) & (1L << (bit & 63))) == 0) return false;
+		}
+		return true;
+	}
+	
+	// Double hashing: index_i = h1 + i * h2
+	private static int index(long[] h, int i) {
+		return (int) ((h[0] + i * h[1]) & (BITS - 1));
+	}
+	
+	// Two independent 64-bit hashes of the normalized value (FNV-1a + a mixed variant)
+	private static long[] hash(String prefix, String value) {
+		String key = prefix + value.trim().toLowerCase();
+		long h1 = 0xcbf29ce484222325L;
+		for (int i = 0; i < key.length(); i++) {
+			h1 ^= key.charAt(i);
+			h1 *= 0x100000001b3L;
+		}
+		long h2 = h1 ^ (h1 >>> 33);
+		h2 *= 0xff51afd7ed558ccdL;
+		h2 ^= h2 >>> 33;
+		return new long[] { h1, h2 | 1 };
+	}
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import database.Connect;
+
+/**
+ * EmployeeRoster
+ * --------------
+ * In-memory roster of employees, partitioned by role, with the number of
+ * open (Pending) jobs each laundry staff member currently holds.
+ *
+ * Responsibilities:
+ * - Load all employees and their open job counts with ONE query
+ * - Serve "Laundry Staff" / "Receptionist" / "Admin" lists without touching the database
+ * - Keep open job counts current on assign / finish
+ * - Reload after a new employee is added (invalidate) or when the snapshot is too old
+ *
+ * Notes:
+ * - Singleton, like Connect
+ * - Snapshot age limit is set with -Dgovlash.roster.ttl (seconds, default 60),
+ *   so changes made from other terminals show up within that time
+ */
+
+public final class EmployeeRoster {
+	
+	private final long ttlMillis = Integer.getInteger("govlash.roster.ttl", 60) * 1000L;
+	
+	// Role (upper case) -> employees, replaced as a whole on reload
+	private volatile Map<String, List<UserModel>> byRole;
+	private volatile long loadedAt;
+	
+	// UserID -> open job count
+	private final Map<Integer, AtomicInteger> openJobs = new ConcurrentHashMap<>();
+	
+	private final Connect db = Connect.getConnection();
+	
+	// Singleton instance
+	private static EmployeeRoster instance;
+	
+	private EmployeeRoster() {}
+	
+	public static synchronized EmployeeRoster getInstance() {
+		return instance = (instance == null) ? new EmployeeRoster() : instance;
+	}
+	
+	// Employees with the given role (e.g. "Laundry Staff")
+	public List<UserModel> getByRole(String role) {
+		List<UserModel> list = snapshot().get(role.toUpperCase());
+		return list == null ? new ArrayList<>() : new ArrayList<>(list);
+	}
+	
+	// All employees (Admin, Laundry Staff, Receptionist)
+	public List<UserModel> getAllEmployees() {
+		List<UserModel> all = new ArrayList<>();
+		for (List<UserModel> list : snapshot().values()) all.addAll(list);
+		return all;
+	}
+	
+	public int getOpenJobCount(int userID) {
+		snapshot();
+		AtomicInteger count = openJobs.get(userID);
+		return count == null ? 0 : count.get();
+	}
+	
+	// ===== EVENTS =====
+	public void jobAssigned(int staffID) {
+		openJobs.computeIfAbsent(staffID, id -> new AtomicInteger()).incrementAndGet();
+	}
+	
+	public void jobFinished(int staffID) {
+		AtomicInteger count = openJobs.get(staffID);
+		if (count != null) count.updateAndGet(c -> Math.max(0, c - 1));
+	}
+	
+	// Force a reload on the next read (e.g. after adding an employee)
+	public void invalidate() {
+		byRole = null;
+	}
+	
+	// ===== LOADING =====
+	private Map<String, List<UserModel>> snapshot() {
+		Map<String, List<UserModel>> current = byRole;
+		if (current == null || System.currentTimeMillis() - loadedAt > ttlMillis) {
+			synchronized (this) {
+				current = byRole;
+				if (current == null || System.currentTimeMillis() - loadedAt > ttlMillis) {
+					current = load();
+				}
+			}
+		}
+		return current;
+	}
+	
+	// One query: employees + their Pending job count (uses the UserRole and LaundryStaffID indexes)
+	private Map<String, List<UserModel>> load() {
+		Map<String, List<UserModel>> roles = new HashMap<>();
+		Map<Integer, Integer> counts = new HashMap<>();
+		
+		String query =
+			"SELECT u.*, COUNT(t.TransactionID) AS OpenJobs FROM Users u " +
+			"LEFT JOIN Transactions t ON t.LaundryStaffID = u.UserID AND t.TransactionStatus = 'Pending' " +
+			"WHERE u.UserRole IN ('Admin', 'Laundry Staff', 'Receptionist') " +
+			"GROUP BY u.UserID ORDER BY u.UserName";
+		
+		try (ResultSet rs = db.executeQuery(query)) {
+			while (rs.next()) {
+				UserModel u = new UserModel(
+					rs.getInt("UserID"),
+					rs.getString("UserName"),
+					rs.getString("UserEmail"),
+					rs.getString("UserPassword"),
+					rs.getString("UserGender"),
+					rs.getString("UserDOB"),
+					rs.getString("UserRole")
+				);
+				roles.computeIfAbsent(u.getUserRole().trim().toUpperCase(), r -> new ArrayList<>()).add(u);
+				counts.put(u.getUserID(), rs.getInt("OpenJobs"));
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		
+		openJobs.clear();
+		counts.forEach((id, c) -> openJobs.put(id, new AtomicInteger(c)));
+		
+		byRole = roles;
+		loadedAt = System.currentTimeMillis();
+		return roles;
+	}
+}
@@ -0,0 +1,38 @@
+package model;
+
+/**
+ * EtaEstimate
+ * -----------
+ * Estimated ready time of one order, produced by EtaEstimator.
+ *
+ * Notes:
+ * - basis tells the customer where the number comes from
+ *   ("current queue" or "service duration" when there is no history yet)
+ * - late = the estimate is past the service's promised duration
+ */
+
+public class EtaEstimate {
+
+	private final long readyAt;			// Epoch millis
+	private final long dueAt;			// Epoch millis (TransactionDate + ServiceDuration days)
+	private final String basis;
+
+	public EtaEstimate(long readyAt, long dueAt, String basis) {
+		this.readyAt = readyAt;
+		this.dueAt = dueAt;
+		this.basis = basis;
+	}
+
+	public long getReadyAt() { return readyAt; }
+	public long getDueAt() { return dueAt; }
+	public String getBasis() { return basis; }
+
+	public boolean isLate() {
+		return readyAt > dueAt;
+	}
+
+	// Whole hours from now until ready (at least 1)
+	public long getHoursFromNow() {
+		return Math.max(1, (readyAt - System.currentTimeMillis() + 1_800_000L) / 3_600_000L);
+	}
+}
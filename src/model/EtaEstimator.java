@@ -0,0 +1,233 @@
+package model;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import database.Connect;
+
+/**
+ * EtaEstimator
+ * ------------
+ * Estimated ready time for orders, shown to customers at drop-off and in
+ * their transaction history.
+ *
+ * An order waits for the unassigned backlog ahead of it to be handed out,
+ * then for the jobs already queued at the staff member who gets it, then
+ * for its own processing:
+ *
+ *   wait       = backlog / (jobs/hour of all staff)
+ *              + min over staff of (open jobs / staff jobs/hour)
+ *   processing = w x service turnaround EWMA + (1 - w) x service duration
+ *                with w = samples / (samples + PRIOR_SAMPLES)
+ *   ready      = now + wait + max(0, start + processing - now)
+ *
+ * start is when the order's clock began (AssignedAt, else TransactionDate),
+ * so time already spent counts against processing and the estimate of an
+ * existing order converges instead of moving forward on every view.
+ *
+ * The service duration is the baseline: a service with little history is
+ * promised what it advertises, and measured turnaround takes over as
+ * finished jobs accumulate.
+ *
+ * Responsibilities:
+ * - Keep the unassigned backlog as a counter (create / assign events,
+ *   recounted every few minutes for orders taken on other terminals)
+ * - Keep an EWMA of turnaround (assign -> finish) per service and overall
+ * - Read open jobs per staff from EmployeeRoster, jobs/hour from StaffMetrics
+ *   and durations from ServiceCatalog
+ *
+ * Notes:
+ * - Singleton, like OverdueTracker
+ * - An estimate is pure in-memory arithmetic (no query per call)
+ * - EWMA weight of a new sample: -Dgovlash.eta.alpha (default 0.2)
+ * - Backlog recount: -Dgovlash.eta.reseed (minutes, default 5)
+ */
+
+public final class EtaEstimator {
+
+	private static final String QUEUE = "current queue";
+	private static final String DURATION = "service duration";
+	
+	// Weight of the service duration, in finished jobs: after this many samples
+	// measured turnaround and the advertised duration count equally
+	private static final int PRIOR_SAMPLES = 20;
+
+	private final double alpha = Double.parseDouble(System.getProperty("govlash.eta.alpha", "0.2"));
+	private final long reseedMillis = Integer.getInteger("govlash.eta.reseed", 5) * 60_000L;
+
+	// Turnaround EWMAs in millis
+	private final Map<Integer, Ewma> byService = new ConcurrentHashMap<>();
+	private final Ewma overall = new Ewma();
+
+	// Pending orders without a staff member
+	private final AtomicInteger unassigned = new AtomicInteger();
+
+	private volatile boolean historyLoaded;
+	private volatile long seededAt;
+
+	private final Connect db = Connect.getConnection();
+
+	// Singleton instance
+	private static EtaEstimator instance;
+
+	private EtaEstimator() {}
+
+	public static synchronized EtaEstimator getInstance() {
+		return instance = (instance == null) ? new EtaEstimator() : instance;
+	}
+
+	// ===== EVENTS =====
+
+	public void orderCreated() {
+		unassigned.incrementAndGet();
+	}
+
+	public void orderAssigned() {
+		unassigned.updateAndGet(c -> Math.max(0, c - 1));
+	}
+
+	// A job was finished; times in the database DATETIME format, assignedAt may be null
+	public void orderFinished(int serviceID, String assignedAt, String finishedAt) {
+		if (assignedAt == null || finishedAt == null) return;
+
+		long turnaround = toMillis(finishedAt) - toMillis(assignedAt);
+		if (turnaround < 0) return;
+		byService.computeIfAbsent(serviceID, id -> new Ewma()).add(turnaround, alpha);
+		overall.add(turnaround, alpha);
+	}
+
+	// Recount the backlog on the next estimate (e.g. after a bulk import)
+	public void invalidate() {
+		seededAt = 0;
+	}
+
+	// ===== ESTIMATES =====
+
+	// A new order for this service, placed now (behind the whole backlog)
+	public EtaEstimate estimateNewOrder(int serviceID) {
+		if (System.currentTimeMillis() - seededAt > reseedMillis) seed();
+		long now = System.currentTimeMillis();
+		return estimate(serviceID, null, unassigned.get(), now, now);
+	}
+
+	// An existing Pending order; null when it is already finished or its service is unknown
+	public EtaEstimate estimate(TransactionModel t) {
+		if (!"Pending".equalsIgnoreCase(t.getTransactionStatus()) || t.getTransactionDate() == null) return null;
+		if (System.currentTimeMillis() - seededAt > reseedMillis) seed();
+
+		// Its own place in the backlog is unknown: assume everything else is ahead of it
+		long createdAt = toMillis(t.getTransactionDate());
+		long startedAt = t.getAssignedAt() != null ? toMillis(t.getAssignedAt()) : createdAt;
+		return estimate(t.getServiceID(), t.getLaundryStaffID(), Math.max(0, unassigned.get() - 1), createdAt, startedAt);
+	}
+
+	private EtaEstimate estimate(int serviceID, Integer staffID, int backlogAhead, long createdAt, long startedAt) {
+		Integer days = ServiceCatalog.getInstance().getDuration(serviceID);
+		if (days == null) return null;
+
+		long now = System.currentTimeMillis();
+		long durationMillis = days * 86_400_000L;
+		long dueAt = createdAt + durationMillis;
+
+		// Own processing: advertised duration, blended towards measured turnaround as samples accumulate
+		Ewma service = byService.get(serviceID);
+		int samples = service == null ? 0 : service.count();
+		double w = samples / (double) (samples + PRIOR_SAMPLES);
+		double processing = samples == 0 ? durationMillis : w * service.value() + (1 - w) * durationMillis;
+
+		// Jobs ahead of it, drained at each staff member's recent jobs/hour
+		double overallMillis = overall.value();
+		double fallbackRate = Double.isNaN(overallMillis) ? 0 : 3_600_000.0 / overallMillis;	// Staff with no recent finish
+
+		EmployeeRoster roster = EmployeeRoster.getInstance();
+		StaffMetrics metrics = StaffMetrics.getInstance();
+		double totalRate = 0, best = Double.MAX_VALUE, own = -1;
+
+		for (UserModel staff : roster.getByRole("Laundry Staff")) {
+			double rate = metrics.getJobsPerHour(staff.getUserID());
+			if (rate <= 0) rate = fallbackRate;
+			if (rate <= 0) continue;
+
+			int open = roster.getOpenJobCount(staff.getUserID());
+			totalRate += rate;
+			best = Math.min(best, open / rate);
+			if (staffID != null && staffID == staff.getUserID()) own = Math.max(0, open - 1) / rate;	// Open count includes this order
+		}
+
+		// No throughput yet: only the processing estimate is known
+		double waitHours = totalRate == 0 ? 0 : (own >= 0 ? own : backlogAhead / totalRate + best);
+		String basis = (samples == 0 && totalRate == 0) ? DURATION : QUEUE;
+		long remaining = Math.max(0, startedAt + (long) processing - now);	// Elapsed time already counts
+		return new EtaEstimate(now + (long) (waitHours * 3_600_000L) + remaining, dueAt, basis);
+	}
+
+	// ===== SEEDING =====
+
+	// Recount the backlog; the first time also fold in the last week of finished jobs (FinishedAt index)
+	private synchronized void seed() {
+		if (System.currentTimeMillis() - seededAt <= reseedMillis) return;	// Another thread just did it
+
+		try {
+			if (!historyLoaded) {
+				String history =
+					"SELECT ServiceID, AssignedAt, FinishedAt FROM Transactions " +
+					"WHERE FinishedAt >= ? AND AssignedAt IS NOT NULL ORDER BY FinishedAt";
+				try (PreparedStatement ps = db.prepareStatement(history)) {
+					ps.setTimestamp(1, new Timestamp(System.currentTimeMillis() - 7 * 86_400_000L));
+					try (ResultSet rs = ps.executeQuery()) {
+						while (rs.next()) {
+							long turnaround = rs.getTimestamp("FinishedAt").getTime() - rs.getTimestamp("AssignedAt").getTime();
+							if (turnaround < 0) continue;
+							byService.computeIfAbsent(rs.getInt("ServiceID"), id -> new Ewma()).add(turnaround, alpha);
+							overall.add(turnaround, alpha);
+						}
+					}
+				}
+				historyLoaded = true;
+			}
+
+			// StatusDate index
+			String backlog = "SELECT COUNT(*) FROM Transactions WHERE TransactionStatus = 'Pending' AND LaundryStaffID IS NULL";
+			try (PreparedStatement ps = db.prepareStatement(backlog);
+			     ResultSet rs = ps.executeQuery()) {
+				if (rs.next()) unassigned.set(rs.getInt(1));
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		seededAt = System.currentTimeMillis();
+	}
+
+	// ===== HELPERS =====
+
+	// "yyyy-MM-dd HH:mm:ss[.f]" (database DATETIME text) -> epoch millis
+	private static long toMillis(String dateTime) {
+		return LocalDateTime.parse(dateTime.substring(0, 19).replace(' ', 'T'))
+				.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	// Exponentially weighted moving average; NaN until the first sample
+	private static class Ewma {
+		private double value = Double.NaN;
+		private int count;
+
+		synchronized void add(double sample, double alpha) {
+			value = Double.isNaN(value) ? sample : value + alpha * (sample - value);
+			count++;
+		}
+
+		synchronized double value() {
+			return value;
+		}
+
+		synchronized int count() {
+			return count;
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationCoalescer
+ * ---------------------
+ * Sits in front of NotificationModel.save so repeated events on the same
+ * order do not each create their own Notifications row.
+ *
+ * Modes:
+ * - Immediate (default): a notification for the same (RecipientID, TransactionID)
+ *   within the window updates the existing row instead of inserting a new one
+ * - Digest: events are buffered in memory and delivered once per window
+ *   as a single combined notification per (RecipientID, TransactionID)
+ *
+ * Notes:
+ * - Singleton, like Connect
+ * - Configured with -Dgovlash.notify.window (seconds, default 600)
+ *   and -Dgovlash.notify.digest=true
+ * - Call shutdown() on exit so buffered digests are not lost
+ */
+
+public final class NotificationCoalescer {
+	
+	// Notification message column is varchar(255)
+	private static final int MAX_MESSAGE_LENGTH = 255;
+	
+	private final int windowSeconds = Integer.getInteger("govlash.notify.window", 600);
+	private final boolean digestMode = Boolean.getBoolean("govlash.notify.digest");
+	
+	// Digest buffer: "recipientID:transactionID" -> pending messages
+	private final Map<String, List<NotificationModel>> pending = new ConcurrentHashMap<>();
+	private ScheduledExecutorService scheduler;
+	
+	// Singleton instance
+	private static NotificationCoalescer instance;
+	
+	private NotificationCoalescer() {
+		if (digestMode) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "notification-digest");
+				t.setDaemon(true);
+				return t;
+			});
+			scheduler.scheduleWithFixedDelay(this::flush, windowSeconds, windowSeconds, TimeUnit.SECONDS);
+		}
+	}
+	
+	public static synchronized NotificationCoalescer getInstance() {
+		return instance = (instance == null) ? new NotificationCoalescer() : instance;
+	}
+	
+	// Submit a notification (replaces a direct NotificationModel.save call)
+	public void submit(int recipientID, int transactionID, String message) {
+		NotificationModel notif = new NotificationModel(recipientID, transactionID, message);
+		
+		if (!digestMode) {
+			notif.saveOrMerge(windowSeconds);
+			return;
+		}
+		
+		pending.compute(recipientID + ":" + transactionID, (key, list) -> {
+			if (list == null) list = new ArrayList<>();
+			// Same message twice (e.g. completion notice re-sent) only counts once
+			if (list.isEmpty() || !list.get(list.size() - 1).getMessage().equals(message)) list.add(notif);
+			return list;
+		});
+	}
+	
+	// Deliver one digest row per (recipient, transaction) for everything buffered so far
+	public void flush() {
+		for (String key : new ArrayList<>(pending.keySet())) {
+			List<NotificationModel> events = pending.remove(key);
+			if (events == null || events.isEmpty()) continue;
+			
+			NotificationModel first = events.get(0);
+			new NotificationModel(first.getRecipientID(), first.getTransactionID(), buildDigest(events))
+				.saveOrMerge(windowSeconds);
+		}
+	}
+	
+	// Flush remaining digests and stop the timer
+	public void shutdown() {
+		if (scheduler != null) scheduler.shutdownNow();
+		flush();
+	}
+	
+	// One event => its own message, several => numbered summary (newest last)
+	private String buildDigest(List<NotificationModel> events) {
+		if (events.size() == 1) return events.get(0).getMessage();
+		
+		StringBuilder sb = new StringBuilder(events.size() + " updates on order #" + events.get(0).getTransactionID() + ":");
+		for (int i = 0; i < events.size(); i++) {
+			sb.append("\n").append(i + 1).append(". ").append(events.get(i).getMessage());
+		}
+		
+		String digest = sb.toString();
+		return digest.length() <= MAX_MESSAGE_LENGTH ? digest : digest.substring(0, MAX_MESSAGE_LENGTH - 3) + "...";
+	}
+}
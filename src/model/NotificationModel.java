@@ -3,8 +3,11 @@ package model;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.List;
 
 import database.Connect;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 
 /**
  * NotificationModel
@@ -14,20 +17,28 @@ import database.Connect;
  *
  * Responsibilities:
  * - Store notification data
- * - Insert new notifications into the database
+ * - Insert new notifications into the database (single or broadcast)
  * - Retrieve notifications for a specific user
  * - Update read status
  * - Delete notifications
+ * - Bulk mark-as-read / delete in a single statement
+ * - Fetch and purge expired notifications (retention)
  */
 
 public class NotificationModel {
 	// Table Attributes
 	private int notificationID;
-	private int transactionID;
+	private Integer transactionID;		// Nullable (broadcasts are not tied to a transaction)
     private int recipientID;
     private String message;
     private String createdAt;
     private boolean isRead;
+    private String preview;		// Short message preview, "..." when cut (paged list only)
+    private double score;		// Full-text relevance (search results only, part of the search cursor)
+    private ReadOnlyBooleanWrapper readProperty;	// Observable isRead (created on first use)
+    
+    // Number of characters loaded for list previews
+    public static final int PREVIEW_LENGTH = 60;
     
     // Database Connection instance
     private final Connect db = Connect.getConnection();
@@ -36,7 +47,7 @@ public class NotificationModel {
     public NotificationModel() {}
 
     // Constructor for FETCHING
-    public NotificationModel(int notificationID, int recipientID, int transactionID, String message, String createdAt, boolean isRead) {
+    public NotificationModel(int notificationID, int recipientID, Integer transactionID, String message, String createdAt, boolean isRead) {
         this.notificationID = notificationID;
         this.recipientID = recipientID;
         this.transactionID = transactionID;
@@ -56,10 +67,22 @@ public class NotificationModel {
     // Getters
     public int getNotificationID() { return notificationID; }
     public int getRecipientID() { return recipientID; }
-    public int getTransactionID() { return transactionID; }
+    public Integer getTransactionID() { return transactionID; }
     public String getMessage() { return message; }
     public String getCreatedAt() { return createdAt; }
     public boolean isRead() { return isRead; }
+    public String getPreview() { return preview != null ? preview : message; }
+    
+    // Read state as an observable value, so list cells restyle themselves when it changes
+    public ReadOnlyBooleanProperty readProperty() {
+        if (readProperty == null) readProperty = new ReadOnlyBooleanWrapper(isRead);
+        return readProperty.getReadOnlyProperty();
+    }
+    
+    private void setRead(boolean read) {
+        this.isRead = read;
+        if (readProperty != null) readProperty.set(read);
+    }
 
     // Save new notification and CreatedAt is automatically set to NOW()
     public void save() {
@@ -71,7 +94,7 @@ public class NotificationModel {
             PreparedStatement ps = db.prepareStatement(query);
             
             ps.setInt(1, recipientID);
-            ps.setInt(2, transactionID); 
+            ps.setObject(2, transactionID); 
             ps.setString(3, message);   
             ps.setInt(4, 0);             
             
@@ -82,6 +105,52 @@ public class NotificationModel {
         }
     }
 
+    // Merge into the newest notification for the same (RecipientID, TransactionID)
+    // created within the last windowSeconds, otherwise insert a new row.
+    // The merged row gets the new message, a fresh CreatedAt and becomes unread again.
+    public void saveOrMerge(int windowSeconds) {
+        String query =
+            "UPDATE Notifications SET NotificationMessage = ?, CreatedAt = NOW(), IsRead = 0 " +
+            "WHERE RecipientID = ? AND TransactionID = ? AND CreatedAt >= NOW() - INTERVAL ? SECOND " +
+            "ORDER BY CreatedAt DESC LIMIT 1";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setString(1, message);
+            ps.setInt(2, recipientID);
+            ps.setInt(3, transactionID);
+            ps.setInt(4, windowSeconds);
+            
+            // Nothing recent to merge into => normal insert
+            if (ps.executeUpdate() == 0) save();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+    
+    // Save the same message for many recipients with one multi-row INSERT
+    // Broadcasts are not tied to a transaction, so TransactionID is NULL
+    public int saveBroadcast(List<Integer> recipientIDs, String message) {
+        if (recipientIDs.isEmpty()) return 0;
+        
+        StringBuilder query = new StringBuilder(
+            "INSERT INTO Notifications (RecipientID, TransactionID, NotificationMessage, CreatedAt, IsRead) VALUES ");
+        for (int i = 0; i < recipientIDs.size(); i++) {
+            query.append(i == 0 ? "(?, NULL, ?, NOW(), 0)" : ", (?, NULL, ?, NOW(), 0)");
+        }
+        
+        try (PreparedStatement ps = db.prepareStatement(query.toString())) {
+            int i = 1;
+            for (int id : recipientIDs) {
+                ps.setInt(i++, id);
+                ps.setString(i++, message);
+            }
+            return ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
     // Get notifications by recipientID (CurrentlyLoggedin)
     public ArrayList<NotificationModel> getByRecipient(int recipientID) {
         ArrayList<NotificationModel> list = new ArrayList<>();
@@ -94,7 +163,7 @@ public class NotificationModel {
                 list.add(new NotificationModel(
                     rs.getInt("NotificationID"),
                     rs.getInt("RecipientID"),
-                    rs.getInt("TransactionID"), 
+                    (Integer) rs.getObject("TransactionID"), 
                     rs.getString("NotificationMessage"),
                     rs.getString("CreatedAt"),
                     rs.getBoolean("IsRead")
@@ -106,6 +175,123 @@ public class NotificationModel {
         return list;
     }
     
+    // Get one page of notifications for a recipient (keyset pagination)
+    // Only a short preview of the message is loaded, the full body is fetched on open.
+    // Pass after = null for the first page, otherwise the last item of the previous page.
+    public ArrayList<NotificationModel> getPageByRecipient(int recipientID, NotificationModel after, int pageSize) {
+        ArrayList<NotificationModel> list = new ArrayList<>();
+
+        // Uses index (RecipientID, CreatedAt, NotificationID) so each page is a short range scan
+        String query =
+            "SELECT NotificationID, RecipientID, TransactionID, " +
+            "LEFT(NotificationMessage, " + (PREVIEW_LENGTH + 1) + ") AS Preview, CreatedAt, IsRead " +
+            "FROM Notifications WHERE RecipientID = ? " +
+            (after == null ? "" : "AND (CreatedAt < ? OR (CreatedAt = ? AND NotificationID < ?)) ") +
+            "ORDER BY CreatedAt DESC, NotificationID DESC LIMIT ?";
+
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            ps.setInt(i++, recipientID);
+            if (after != null) {
+                ps.setString(i++, after.getCreatedAt());
+                ps.setString(i++, after.getCreatedAt());
+                ps.setInt(i++, after.getNotificationID());
+            }
+            ps.setInt(i, pageSize);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    NotificationModel n = new NotificationModel(
+                        rs.getInt("NotificationID"),
+                        rs.getInt("RecipientID"),
+                        (Integer) rs.getObject("TransactionID"),
+                        null,
+                        rs.getString("CreatedAt"),
+                        rs.getBoolean("IsRead")
+                    );
+                    n.preview = toPreview(rs.getString("Preview"));
+                    list.add(n);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    // ===== FULL-TEXT SEARCH (FULLTEXT index on NotificationMessage) =====
+    // Best match first (MATCH relevance, ties newest ID first), keyset paged on (score, NotificationID)
+    // so deleting shown rows never shifts the next page
+    public ArrayList<NotificationModel> searchByRecipient(int recipientID, String text, NotificationModel after, int pageSize) {
+        ArrayList<NotificationModel> list = new ArrayList<>();
+
+        String match = "MATCH(NotificationMessage) AGAINST (? IN NATURAL LANGUAGE MODE)";
+        String query =
+            "SELECT NotificationID, RecipientID, TransactionID, " +
+            "LEFT(NotificationMessage, " + (PREVIEW_LENGTH + 1) + ") AS Preview, CreatedAt, IsRead, " + match + " AS Score " +
+            "FROM Notifications " +
+            "WHERE RecipientID = ? AND " + match + " " +
+            (after == null ? "" : "AND (" + match + " < ? OR (" + match + " = ? AND NotificationID < ?)) ") +
+            "ORDER BY Score DESC, NotificationID DESC LIMIT ?";
+
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            ps.setString(i++, text);
+            ps.setInt(i++, recipientID);
+            ps.setString(i++, text);
+            if (after != null) {
+                ps.setString(i++, text);
+                ps.setDouble(i++, after.score);
+                ps.setString(i++, text);
+                ps.setDouble(i++, after.score);
+                ps.setInt(i++, after.getNotificationID());
+            }
+            ps.setInt(i, pageSize);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    NotificationModel n = new NotificationModel(
+                        rs.getInt("NotificationID"),
+                        rs.getInt("RecipientID"),
+                        (Integer) rs.getObject("TransactionID"),
+                        null,
+                        rs.getString("CreatedAt"),
+                        rs.getBoolean("IsRead")
+                    );
+                    n.preview = toPreview(rs.getString("Preview"));
+                    n.score = rs.getDouble("Score");
+                    list.add(n);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    // One character past PREVIEW_LENGTH is loaded, so "..." only marks messages that were actually cut
+    private static String toPreview(String loaded) {
+        if (loaded == null || loaded.length() <= PREVIEW_LENGTH) return loaded;
+        return loaded.substring(0, PREVIEW_LENGTH) + "...";
+    }
+
+    // Fetch the full message body (only when the notification is opened)
+    public String loadMessage() {
+        if (message != null) return message;
+
+        String query = "SELECT NotificationMessage FROM Notifications WHERE NotificationID = ?";
+
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setInt(1, notificationID);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) message = rs.getString("NotificationMessage");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return message;
+    }
+
     // Mark notifications as read (Change IsRead boolean to true)
     public void markAsRead() {
         String query =
@@ -113,7 +299,7 @@ public class NotificationModel {
             "WHERE NotificationID = " + notificationID;
 
         db.executeUpdate(query);
-        this.isRead = true;
+        setRead(true);
     }
 
     // Delete notification
@@ -124,4 +310,115 @@ public class NotificationModel {
 
         db.executeUpdate(query);
     }
+    
+    // ===== BULK OPERATIONS (one statement each) =====
+    
+    // Mark every unread notification of a recipient as read
+    public int markAllAsRead(int recipientID) {
+        String query = "UPDATE Notifications SET IsRead = true WHERE RecipientID = ? AND IsRead = false";
+        return executeForRecipient(query, recipientID, null);
+    }
+    
+    // Mark the given notifications as read
+    public int markAsRead(int recipientID, List<NotificationModel> notifications) {
+        if (notifications.isEmpty()) return 0;
+        
+        String query =
+            "UPDATE Notifications SET IsRead = true " +
+            "WHERE RecipientID = ? AND NotificationID IN (" + placeholders(notifications.size()) + ")";
+        
+        int updated = executeForRecipient(query, recipientID, notifications);
+        for (NotificationModel n : notifications) n.setRead(true);
+        return updated;
+    }
+    
+    // Delete the given notifications
+    public int delete(int recipientID, List<NotificationModel> notifications) {
+        if (notifications.isEmpty()) return 0;
+        
+        String query =
+            "DELETE FROM Notifications " +
+            "WHERE RecipientID = ? AND NotificationID IN (" + placeholders(notifications.size()) + ")";
+        
+        return executeForRecipient(query, recipientID, notifications);
+    }
+    
+    // Delete every notification the recipient has already read
+    public int deleteAllRead(int recipientID) {
+        String query = "DELETE FROM Notifications WHERE RecipientID = ? AND IsRead = true";
+        return executeForRecipient(query, recipientID, null);
+    }
+    
+    // ===== RETENTION (used by NotificationRetentionJob) =====
+    
+    // Oldest notifications past the age limit, at most batchSize rows.
+    // readOnly = true only returns notifications the recipient has already read.
+    public ArrayList<NotificationModel> getExpired(int maxAgeDays, boolean readOnly, int batchSize) {
+        ArrayList<NotificationModel> list = new ArrayList<>();
+        String query =
+            "SELECT * FROM Notifications " +
+            "WHERE CreatedAt < NOW() - INTERVAL ? DAY " +
+            (readOnly ? "AND IsRead = true " : "") +
+            "ORDER BY CreatedAt LIMIT ?";
+
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setInt(1, maxAgeDays);
+            ps.setInt(2, batchSize);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new NotificationModel(
+                        rs.getInt("NotificationID"),
+                        rs.getInt("RecipientID"),
+                        (Integer) rs.getObject("TransactionID"),
+                        rs.getString("NotificationMessage"),
+                        rs.getString("CreatedAt"),
+                        rs.getBoolean("IsRead")
+                    ));
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+    
+    // Delete a batch of notifications by primary key (not scoped to a recipient)
+    public int purge(List<NotificationModel> notifications) {
+        if (notifications.isEmpty()) return 0;
+        
+        String query = "DELETE FROM Notifications WHERE NotificationID IN (" + placeholders(notifications.size()) + ")";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            for (NotificationModel n : notifications) ps.setInt(i++, n.getNotificationID());
+            return ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+    
+    // Runs an UPDATE/DELETE scoped to the recipient, binding the notification IDs after it
+    // (RecipientID is always part of the WHERE so a customer can only touch their own rows)
+    private int executeForRecipient(String query, int recipientID, List<NotificationModel> notifications) {
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setInt(1, recipientID);
+            if (notifications != null) {
+                int i = 2;
+                for (NotificationModel n : notifications) ps.setInt(i++, n.getNotificationID());
+            }
+            return ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+    
+    // Builds "?, ?, ?" for an IN (...) list
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) sb.append(i == 0 ? "?" : ", ?");
+        return sb.toString();
+    }
 }
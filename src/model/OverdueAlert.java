@@ -0,0 +1,33 @@
+package model;
+
+/**
+ * OverdueAlert
+ * ------------
+ * An open transaction that passed its due date
+ * (TransactionDate + ServiceDuration days), raised by OverdueTracker.
+ */
+
+public class OverdueAlert {
+	
+	private final int transactionID;
+	private final int customerID;
+	private final Integer staffID;		// Nullable (still unassigned)
+	private final long dueAt;			// Epoch millis
+	
+	public OverdueAlert(int transactionID, int customerID, Integer staffID, long dueAt) {
+		this.transactionID = transactionID;
+		this.customerID = customerID;
+		this.staffID = staffID;
+		this.dueAt = dueAt;
+	}
+	
+	public int getTransactionID() { return transactionID; }
+	public int getCustomerID() { return customerID; }
+	public Integer getStaffID() { return staffID; }
+	public long getDueAt() { return dueAt; }
+	
+	// Whole hours past the due date
+	public long getHoursOverdue() {
+		return Math.max(0, (System.currentTimeMillis() - dueAt) / 3_600_000L);
+	}
+}
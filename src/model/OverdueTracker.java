@@ -0,0 +1,274 @@
+package model;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import database.Connect;
+
+/**
+ * OverdueTracker
+ * --------------
+ * SLA tracking for open orders with an in-memory hashed timer wheel.
+ *
+ * Every Pending transaction has one due-date timer
+ * (TransactionDate + ServiceDuration days). The wheel advances one slot
+ * per tick and only looks at the timers in that slot, so the cost of a
+ * tick does not depend on how many orders are open.
+ *
+ * Responsibilities:
+ * - Load timers for all Pending transactions at startup and every few minutes (one query)
+ * - Add a timer on create, update the staff on assign, cancel on finish
+ * - Move expired timers to the overdue list shown to receptionists / admins
+ * - Optionally notify the customer once when an order becomes overdue
+ *
+ * Notes:
+ * - Singleton, like EmployeeRoster
+ * - Tick length: -Dgovlash.sla.tick (seconds, default 60)
+ * - Customer notices: -Dgovlash.sla.notify=true (sent through NotificationCoalescer)
+ * - Orders created / finished on other terminals are picked up by a periodic
+ *   reload (-Dgovlash.sla.reconcile, minutes, default 5) and after an import
+ * - Events arriving while a reload is running are replayed onto the new wheel
+ */
+
+public final class OverdueTracker {
+	
+	// Slots in the wheel; a timer further away than one turn waits "rounds" turns
+	private static final int WHEEL_SIZE = 512;
+	
+	private final long tickMillis = Integer.getInteger("govlash.sla.tick", 60) * 1000L;
+	private final boolean notifyCustomers = Boolean.getBoolean("govlash.sla.notify");
+	private final long reconcileMillis = Integer.getInteger("govlash.sla.reconcile", 5) * 60_000L;
+	
+	// Wheel state (guarded by this)
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private final List<Timer>[] wheel = new List[WHEEL_SIZE];
+	private final Map<Integer, Timer> timers = new HashMap<>();	// TransactionID -> pending timer
+	private long tick;												// Last processed tick
+	private List<Runnable> replay;									// Events seen while a reload runs (null otherwise)
+	private final Object reloadLock = new Object();					// One reload at a time
+	
+	// Expired, still open orders
+	private final Map<Integer, OverdueAlert> overdue = new ConcurrentHashMap<>();
+	
+	private final Connect db = Connect.getConnection();
+	private ScheduledExecutorService scheduler;
+	
+	// Singleton instance
+	private static OverdueTracker instance;
+	
+	private OverdueTracker() {
+		for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new ArrayList<>();
+	}
+	
+	public static synchronized OverdueTracker getInstance() {
+		return instance = (instance == null) ? new OverdueTracker() : instance;
+	}
+	
+	// ===== LIFECYCLE =====
+	
+	// Load the open orders and start ticking (background daemon thread)
+	public synchronized void start() {
+		if (scheduler != null) return;
+		
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "sla-timer-wheel");
+			t.setDaemon(true);
+			return t;
+		});
+		scheduler.scheduleAtFixedRate(this::reload, 0, reconcileMillis, TimeUnit.MILLISECONDS);
+		scheduler.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+	}
+	
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+	
+	// Rebuild every timer from the Pending transactions (StatusDate index, one query).
+	// Events that arrive while the query runs are recorded and replayed after the swap,
+	// so an order created or finished meanwhile is neither lost nor resurrected.
+	public void reload() {
+		synchronized (reloadLock) {
+			synchronized (this) {
+				replay = new ArrayList<>();
+			}
+			try {
+				load();
+			} finally {
+				synchronized (this) {
+					replay = null;
+				}
+			}
+		}
+	}
+	
+	private void load() {
+		String query =
+			"SELECT t.TransactionID, t.CustomerID, t.LaundryStaffID, t.TransactionDate, s.ServiceDuration " +
+			"FROM Transactions t JOIN Services s ON s.ServiceID = t.ServiceID " +
+			"WHERE t.TransactionStatus = 'Pending'";
+		
+		List<Timer> loaded = new ArrayList<>();
+		try (PreparedStatement ps = db.prepareStatement(query);
+		     ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				Timestamp created = rs.getTimestamp("TransactionDate");
+				loaded.add(new Timer(rs.getInt("TransactionID"), rs.getInt("CustomerID"),
+						(Integer) rs.getObject("LaundryStaffID"),
+						created.getTime() + rs.getInt("ServiceDuration") * 86_400_000L));
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			return;
+		}
+		
+		synchronized (this) {
+			for (List<Timer> slot : wheel) slot.clear();
+			timers.clear();
+			overdue.clear();
+			for (Timer t : loaded) schedule(t, false);	// Already overdue at startup: alert, but no customer notice
+			for (Runnable event : replay) event.run();
+		}
+	}
+	
+	// ===== EVENTS =====
+	
+	// New order: transactionDate in the database DATETIME format
+	public void orderCreated(int transactionID, int customerID, int serviceID, String transactionDate) {
+		Integer days = ServiceCatalog.getInstance().getDuration(serviceID);
+		if (days == null) return;	// Unknown service, nothing to track
+		
+		long created = LocalDateTime.parse(transactionDate.substring(0, 19).replace(' ', 'T'))
+				.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		long dueAt = created + days * 86_400_000L;
+		synchronized (this) {
+			schedule(new Timer(transactionID, customerID, null, dueAt), true);
+			if (replay != null) replay.add(() -> {
+				// The reload query may already have seen it
+				if (!timers.containsKey(transactionID) && !overdue.containsKey(transactionID)) {
+					schedule(new Timer(transactionID, customerID, null, dueAt), false);
+				}
+			});
+		}
+	}
+	
+	// Staff assigned: keep the timer, remember who holds the order
+	public synchronized void orderAssigned(int transactionID, int staffID) {
+		assign(transactionID, staffID);
+		if (replay != null) replay.add(() -> assign(transactionID, staffID));
+	}
+	
+	// Finished: drop the timer (O(1) lookup + removal from one slot) and any alert
+	public synchronized void orderFinished(int transactionID) {
+		cancel(transactionID);
+		if (replay != null) replay.add(() -> cancel(transactionID));
+	}
+	
+	// ===== READ =====
+	
+	// Overdue open orders, longest overdue first
+	public List<OverdueAlert> getOverdue() {
+		List<OverdueAlert> list = new ArrayList<>(overdue.values());
+		list.sort((a, b) -> Long.compare(a.getDueAt(), b.getDueAt()));
+		return list;
+	}
+	
+	public int getOverdueCount() {
+		return overdue.size();
+	}
+	
+	// ===== WHEEL =====
+	
+	private void assign(int transactionID, int staffID) {
+		Timer t = timers.get(transactionID);
+		if (t != null) t.staffID = staffID;
+		
+		OverdueAlert alert = overdue.get(transactionID);
+		if (alert != null) {
+			overdue.put(transactionID, new OverdueAlert(transactionID, alert.getCustomerID(), staffID, alert.getDueAt()));
+		}
+	}
+	
+	private void cancel(int transactionID) {
+		Timer t = timers.remove(transactionID);
+		if (t != null) wheel[t.slot].remove(t);
+		overdue.remove(transactionID);
+	}
+	
+	// Put a timer in its slot, or straight into the overdue list if already due
+	private void schedule(Timer t, boolean notify) {
+		long ticks = (t.dueAt - System.currentTimeMillis() + tickMillis - 1) / tickMillis;
+		if (ticks <= 0) {
+			expire(t, notify);
+			return;
+		}
+		
+		t.slot = (int) ((tick + ticks) % WHEEL_SIZE);
+		t.rounds = (ticks - 1) / WHEEL_SIZE;	// Full turns to wait before the slot fires
+		wheel[t.slot].add(t);
+		timers.put(t.transactionID, t);
+	}
+	
+	// One tick: visit only the current slot
+	private void advance() {
+		List<Timer> expired = new ArrayList<>();
+		
+		synchronized (this) {
+			tick++;
+			Iterator<Timer> it = wheel[(int) (tick % WHEEL_SIZE)].iterator();
+			while (it.hasNext()) {
+				Timer t = it.next();
+				if (t.rounds > 0) {
+					t.rounds--;
+				} else {
+					it.remove();
+					timers.remove(t.transactionID);
+					expired.add(t);
+				}
+			}
+		}
+		
+		for (Timer t : expired) expire(t, true);
+	}
+	
+	private void expire(Timer t, boolean notify) {
+		overdue.put(t.transactionID, new OverdueAlert(t.transactionID, t.customerID, t.staffID, t.dueAt));
+		
+		if (notify && notifyCustomers) {
+			NotificationCoalescer.getInstance().submit(t.customerID, t.transactionID, String.format(
+					"We're sorry, your order #%d is taking longer than planned. We'll let you know as soon as it is ready.",
+					t.transactionID));
+		}
+	}
+	
+	// Due-date timer of one open transaction
+	private static class Timer {
+		final int transactionID;
+		final int customerID;
+		Integer staffID;
+		final long dueAt;
+		int slot;
+		long rounds;
+		
+		Timer(int transactionID, int customerID, Integer staffID, long dueAt) {
+			this.transactionID = transactionID;
+			this.customerID = customerID;
+			this.staffID = staffID;
+			this.dueAt = dueAt;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package model;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PasswordHasher
+ * --------------
+ * Salted, adaptive password hashing with PBKDF2 (PBKDF2WithHmacSHA256 from the JDK).
+ *
+ * Responsibilities:
+ * - Hash new passwords with a random salt and the configured work factor
+ * - Verify a password against a stored hash (in Java, not in SQL)
+ * - Tell when a stored value should be rehashed (plaintext or lower cost)
+ * - Pick the highest work factor that fits the login latency budget (calibrate)
+ *
+ * Stored format:
+ *   pbkdf2$<iterations>$<base64 salt>$<base64 hash>
+ *
+ * Configuration:
+ * - -Dgovlash.pbkdf2.iterations=<n>   fixed work factor (default 120000)
+ * - -Dgovlash.pbkdf2.iterations=auto  calibrate on startup against the budget
+ * - -Dgovlash.login.budgetMs=<ms>     latency budget for auto mode (default 100)
+ *
+ * Notes:
+ * - Rows saved before hashing was introduced hold plaintext; they still verify
+ *   and are rehashed on the next successful login
+ * - Run main() to benchmark the work factor on the current machine
+ */
+
+public final class PasswordHasher {
+	
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final String PREFIX = "pbkdf2$";
+	private static final int SALT_BYTES = 16;
+	private static final int HASH_BITS = 256;
+	
+	public static final int DEFAULT_ITERATIONS = 120_000;
+	private static final int MIN_ITERATIONS = 10_000;
+	
+	private static final SecureRandom random = new SecureRandom();
+	private static volatile int iterations;
+	
+	private PasswordHasher() {}
+	
+	// Configured work factor (calibrated once on first use in auto mode)
+	public static int getIterations() {
+		if (iterations == 0) {
+			synchronized (PasswordHasher.class) {
+				if (iterations == 0) {
+					String setting = System.getProperty("govlash.pbkdf2.iterations", String.valueOf(DEFAULT_ITERATIONS));
+					iterations = "auto".equalsIgnoreCase(setting)
+						? calibrate(Integer.getInteger("govlash.login.budgetMs", 100))
+						: Math.max(MIN_ITERATIONS, Integer.parseInt(setting));
+				}
+			}
+		}
+		return iterations;
+	}
+	
+	// Hash with a fresh salt and the current work factor
+	public static String hash(String password) {
+		byte[] salt = new byte[SALT_BYTES];
+		random.nextBytes(salt);
+		int cost = getIterations();
+		
+		Base64.Encoder b64 = Base64.getEncoder();
+		return PREFIX + cost + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(pbkdf2(password, salt, cost));
+	}
+	
+	// Check a password against a stored value (hash or legacy plaintext), constant-time compare
+	public static boolean verify(String password, String stored) {
+		if (password == null || stored == null) return false;
+		
+		if (!stored.startsWith(PREFIX)) {
+			return MessageDigest.isEqual(password.getBytes(), stored.getBytes());
+		}
+		
+		String[] parts = stored.split("\\$");
+		if (parts.length != 4) return false;
+		
+		Base64.Decoder b64 = Base64.getDecoder();
+		byte[] expected = b64.decode(parts[3]);
+		byte[] actual = pbkdf2(password, b64.decode(parts[2]), Integer.parseInt(parts[1]));
+		return MessageDigest.isEqual(expected, actual);
+	}
+	
+	// Plaintext or hashed with a lower work factor than configured now
+	public static boolean needsRehash(String stored) {
+		if (stored == null || !stored.startsWith(PREFIX)) return true;
+		String[] parts = stored.split("\\$");
+		return parts.length != 4 || Integer.parseInt(parts[1]) < getIterations();
+	}
+	
+	// Highest work factor (rounded down to 1000) whose hash time fits budgetMillis on this machine
+	public static int calibrate(long budgetMillis) {
+		byte[] salt = new byte[SALT_BYTES];
+		random.nextBytes(salt);
+		
+		// Warm up the JIT, then take the best of a few timed runs at a known cost
+		for (int i = 0; i < 3; i++) pbkdf2("calibration", salt, MIN_ITERATIONS);
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long start = System.nanoTime();
+			pbkdf2("calibration", salt, MIN_ITERATIONS);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		
+		// PBKDF2 time is linear in the iteration count
+		double nanosPerIteration = (double) best / MIN_ITERATIONS;
+		long fitting = (long) (budgetMillis * 1_000_000L / nanosPerIteration);
+		return (int) Math.max(MIN_ITERATIONS, Math.min(Integer.MAX_VALUE, fitting / 1000 * 1000));
+	}
+	
+	private static byte[] pbkdf2(String password, byte[] salt, int cost) {
+		PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, cost, HASH_BITS);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		} catch (Exception e) {
+			throw new IllegalStateException("PBKDF2 not available", e);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+	
+	// ===== BENCHMARK =====
+	// Usage: java model.PasswordHasher [budgetMs]
+	// Prints the average hash time for a range of work factors and the calibrated cost.
+	public static void main(String[] args) {
+		long budget = args.length > 0 ? Long.parseLong(args[0]) : 100;
+		byte[] salt = new byte[SALT_BYTES];
+		random.nextBytes(salt);
+		
+		int[] costs = { 10_000, 60_000, 120_000, 310_000, 600_000 };
+		for (int i = 0; i < 5; i++) pbkdf2("warmup", salt, MIN_ITERATIONS);
+		
+		for (int cost : costs) {
+			int runs = 10;
+			long start = System.nanoTime();
+			for (int i = 0; i < runs; i++) pbkdf2("benchmark", salt, cost);
+			double ms = (System.nanoTime() - start) / 1e6 / runs;
+			System.out.printf("iterations=%,9d  %8.2f ms/hash%n", cost, ms);
+		}
+		
+		System.out.printf("calibrated for %d ms budget: %,d iterations%n", budget, calibrate(budget));
+	}
+}
@@ -0,0 +1,217 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import database.Connect;
+
+/**
+ * RollupModel
+ * -----------
+ * Daily pre-aggregated totals, so reports never scan Transactions.
+ *
+ * Tables:
+ * - daily_service_rollups (RollupDate, ServiceID): orders, kg and revenue by order date
+ * - daily_staff_rollups (RollupDate, LaundryStaffID): finished jobs, kg and revenue by finish date
+ *
+ * Responsibilities:
+ * - Add one order / one finished job to today's row (INSERT ... ON DUPLICATE KEY UPDATE)
+ * - Rebuild a date range from Transactions (backfill, after imports)
+ * - Read service / staff / period totals for a date range
+ *
+ * Notes:
+ * - Revenue = TotalWeight x ServicePrice at the time the row is counted
+ * - Staff rows are dated by FinishedAt; jobs finished before that column
+ *   existed fall back to TransactionDate in a rebuild
+ */
+
+public class RollupModel {
+	
+	// Rebuilds delete and re-insert whole months; two at once (startup backfill,
+	// "Rebuild from History", an import) would deadlock on the same rows
+	private static final Object REBUILD_LOCK = new Object();
+	
+	private final Connect db = Connect.getConnection();
+	
+	// ===== INCREMENTAL UPDATES =====
+	
+	// A new order was placed today
+	public void recordOrder(int serviceID, double weight) {
+		String query =
+			"INSERT INTO daily_service_rollups (RollupDate, ServiceID, OrderCount, TotalWeight, Revenue) " +
+			"SELECT CURDATE(), ServiceID, 1, ?, ? * ServicePrice FROM Services WHERE ServiceID = ? " +
+			"ON DUPLICATE KEY UPDATE OrderCount = OrderCount + 1, " +
+			"TotalWeight = TotalWeight + VALUES(TotalWeight), Revenue = Revenue + VALUES(Revenue)";
+		
+		try (PreparedStatement ps = db.prepareStatement(query)) {
+			ps.setDouble(1, weight);
+			ps.setDouble(2, weight);
+			ps.setInt(3, serviceID);
+			ps.executeUpdate();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	// A laundry staff member finished a job today
+	public void recordFinish(int staffID, int serviceID, double weight) {
+		String query =
+			"INSERT INTO daily_staff_rollups (RollupDate, LaundryStaffID, OrderCount, TotalWeight, Revenue) " +
+			"SELECT CURDATE(), ?, 1, ?, ? * ServicePrice FROM Services WHERE ServiceID = ? " +
+			"ON DUPLICATE KEY UPDATE OrderCount = OrderCount + 1, " +
+			"TotalWeight = TotalWeight + VALUES(TotalWeight), Revenue = Revenue + VALUES(Revenue)";
+		
+		try (PreparedStatement ps = db.prepareStatement(query)) {
+			ps.setInt(1, staffID);
+			ps.setDouble(2, weight);
+			ps.setDouble(3, weight);
+			ps.setInt(4, serviceID);
+			ps.executeUpdate();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	// ===== BACKFILL =====
+	
+	// Recompute [from, to] (inclusive) from Transactions in one database transaction
+	public void rebuild(Connection con, LocalDate from, LocalDate to) throws Exception {
+		synchronized (REBUILD_LOCK) {
+			String end = to.plusDays(1).toString();
+			boolean autoCommit = con.getAutoCommit();
+			con.setAutoCommit(false);
+			
+			try (PreparedStatement delService = con.prepareStatement(
+			         "DELETE FROM daily_service_rollups WHERE RollupDate >= ? AND RollupDate < ?");
+			     PreparedStatement delStaff = con.prepareStatement(
+			         "DELETE FROM daily_staff_rollups WHERE RollupDate >= ? AND RollupDate < ?");
+			     PreparedStatement insService = con.prepareStatement(
+			         "INSERT INTO daily_service_rollups (RollupDate, ServiceID, OrderCount, TotalWeight, Revenue) " +
+			         "SELECT DATE(t.TransactionDate), t.ServiceID, COUNT(*), SUM(t.TotalWeight), SUM(t.TotalWeight * s.ServicePrice) " +
+			         "FROM Transactions t JOIN Services s ON s.ServiceID = t.ServiceID " +
+			         "WHERE t.TransactionDate >= ? AND t.TransactionDate < ? " +
+			         "GROUP BY DATE(t.TransactionDate), t.ServiceID");
+			     PreparedStatement insStaff = con.prepareStatement(
+			         "INSERT INTO daily_staff_rollups (RollupDate, LaundryStaffID, OrderCount, TotalWeight, Revenue) " +
+			         "SELECT DATE(COALESCE(t.FinishedAt, t.TransactionDate)) AS Day, t.LaundryStaffID, COUNT(*), " +
+			         "SUM(t.TotalWeight), SUM(t.TotalWeight * s.ServicePrice) " +
+			         "FROM Transactions t JOIN Services s ON s.ServiceID = t.ServiceID " +
+			         "WHERE t.TransactionStatus = 'Finished' AND t.LaundryStaffID IS NOT NULL " +
+			         "AND COALESCE(t.FinishedAt, t.TransactionDate) >= ? AND COALESCE(t.FinishedAt, t.TransactionDate) < ? " +
+			         "GROUP BY Day, t.LaundryStaffID")) {
+				
+				for (PreparedStatement ps : new PreparedStatement[] { delService, delStaff, insService, insStaff }) {
+					ps.setString(1, from.toString());
+					ps.setString(2, end);
+					ps.executeUpdate();
+				}
+				con.commit();
+			} catch (Exception e) {
+				con.rollback();
+				throw e;
+			} finally {
+				con.setAutoCommit(autoCommit);
+			}
+		}
+	}
+	
+	// Rebuild the whole history, one month per database transaction so locks stay short.
+	// progress receives (months done, total months). Returns the number of months rebuilt.
+	// Failures are thrown so the caller can report them.
+	public int rebuildAll(BiConsumer<Integer, Integer> progress) throws Exception {
+		synchronized (REBUILD_LOCK) {
+			try (Connection con = db.openDedicatedConnection()) {
+				LocalDate first = null, last = null;
+				try (PreparedStatement ps = con.prepareStatement(
+				         "SELECT DATE(MIN(TransactionDate)), DATE(GREATEST(MAX(TransactionDate), COALESCE(MAX(FinishedAt), MAX(TransactionDate)))) " +
+				         "FROM Transactions");
+				     ResultSet rs = ps.executeQuery()) {
+					if (rs.next() && rs.getString(1) != null) {
+						first = LocalDate.parse(rs.getString(1)).withDayOfMonth(1);
+						last = LocalDate.parse(rs.getString(2));
+					}
+				}
+				if (first == null) return 0;
+				
+				int total = (last.getYear() - first.getYear()) * 12 + last.getMonthValue() - first.getMonthValue() + 1;
+				int done = 0;
+				progress.accept(0, total);
+				
+				for (LocalDate month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+					rebuild(con, month, month.plusMonths(1).minusDays(1));
+					progress.accept(++done, total);
+				}
+				return done;
+			}
+		}
+	}
+	
+	// True when no rollup has been written yet (fresh install / before the first backfill)
+	public boolean isEmpty() {
+		try (PreparedStatement ps = db.prepareStatement("SELECT 1 FROM daily_service_rollups LIMIT 1");
+		     ResultSet rs = ps.executeQuery()) {
+			return !rs.next();
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return false;
+	}
+	
+	// ===== REPORTS (read rollups only) =====
+	
+	// Totals per service in [from, to]
+	public List<RollupTotal> getServiceTotals(LocalDate from, LocalDate to) {
+		return readTotals(
+			"SELECT COALESCE(s.ServiceName, CONCAT('Service #', r.ServiceID)) AS Label, " +
+			"SUM(r.OrderCount) AS Orders, SUM(r.TotalWeight) AS Weight, SUM(r.Revenue) AS Revenue " +
+			"FROM daily_service_rollups r LEFT JOIN Services s ON s.ServiceID = r.ServiceID " +
+			"WHERE r.RollupDate BETWEEN ? AND ? GROUP BY r.ServiceID ORDER BY Revenue DESC", from, to);
+	}
+	
+	// Finished jobs per laundry staff in [from, to]
+	public List<RollupTotal> getStaffTotals(LocalDate from, LocalDate to) {
+		return readTotals(
+			"SELECT COALESCE(u.UserName, CONCAT('Staff #', r.LaundryStaffID)) AS Label, " +
+			"SUM(r.OrderCount) AS Orders, SUM(r.TotalWeight) AS Weight, SUM(r.Revenue) AS Revenue " +
+			"FROM daily_staff_rollups r LEFT JOIN Users u ON u.UserID = r.LaundryStaffID " +
+			"WHERE r.RollupDate BETWEEN ? AND ? GROUP BY r.LaundryStaffID ORDER BY Orders DESC", from, to);
+	}
+	
+	// Order totals per day (monthly = false) or per month (monthly = true) in [from, to]
+	public List<RollupTotal> getPeriodTotals(LocalDate from, LocalDate to, boolean monthly) {
+		String period = monthly ? "DATE_FORMAT(RollupDate, '%Y-%m')" : "DATE_FORMAT(RollupDate, '%Y-%m-%d')";
+		return readTotals(
+			"SELECT " + period + " AS Label, " +
+			"SUM(OrderCount) AS Orders, SUM(TotalWeight) AS Weight, SUM(Revenue) AS Revenue " +
+			"FROM daily_service_rollups WHERE RollupDate BETWEEN ? AND ? " +
+			"GROUP BY Label ORDER BY Label", from, to);
+	}
+	
+	private List<RollupTotal> readTotals(String query, LocalDate from, LocalDate to) {
+		List<RollupTotal> list = new ArrayList<>();
+		
+		try (PreparedStatement ps = db.prepareStatement(query)) {
+			ps.setString(1, from.toString());
+			ps.setString(2, to.toString());
+			
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					list.add(new RollupTotal(
+						rs.getString("Label"),
+						rs.getInt("Orders"),
+						rs.getDouble("Weight"),
+						rs.getDouble("Revenue")
+					));
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		return list;
+	}
+}
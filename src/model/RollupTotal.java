@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * RollupTotal
+ * -----------
+ * One row of a rollup report: a label (service, staff member, day or
+ * month) with its summed order count, weight and revenue.
+ *
+ * Read from the daily rollup tables by RollupModel, never from Transactions.
+ */
+
+public class RollupTotal {
+	
+	private final String label;
+	private final int orderCount;
+	private final double totalWeight;
+	private final double revenue;
+	
+	public RollupTotal(String label, int orderCount, double totalWeight, double revenue) {
+		this.label = label;
+		this.orderCount = orderCount;
+		this.totalWeight = totalWeight;
+		this.revenue = revenue;
+	}
+	
+	public String getLabel() { return label; }
+	public int getOrderCount() { return orderCount; }
+	public double getTotalWeight() { return totalWeight; }
+	public double getRevenue() { return revenue; }
+}
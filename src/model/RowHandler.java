@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * RowHandler
+ * ----------
+ * Callback for streaming reads: receives one row at a time instead of a
+ * List of the whole result.
+ *
+ * Notes:
+ * - May throw (e.g. an IOException while writing the row out); the
+ *   streaming method stops and rethrows
+ * - The row object must not be kept once accept() returns if memory
+ *   is meant to stay constant
+ */
+
+@FunctionalInterface
+public interface RowHandler<T> {
+	void accept(T row) throws Exception;
+}
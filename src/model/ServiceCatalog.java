@@ -0,0 +1,60 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ServiceCatalog
+ * --------------
+ * In-memory ServiceID -> ServiceDuration (days) lookup for the background
+ * engines (OverdueTracker, EtaEstimator) and list cells.
+ *
+ * Responsibilities:
+ * - Load the (small) Services table in one query
+ * - Answer lookups from memory, including for unknown IDs
+ * - Reload when services are added or deleted (invalidate)
+ *
+ * Notes:
+ * - Singleton, like UserCache
+ * - A miss (e.g. a deleted service) reloads at most once per
+ *   -Dgovlash.services.ttl seconds (default 60), never once per call
+ */
+
+public final class ServiceCatalog {
+
+	private final long ttlMillis = Integer.getInteger("govlash.services.ttl", 60) * 1000L;
+
+	private volatile Map<Integer, Integer> durations;
+	private volatile long loadedAt;
+
+	// Singleton instance
+	private static ServiceCatalog instance;
+
+	private ServiceCatalog() {}
+
+	public static synchronized ServiceCatalog getInstance() {
+		return instance = (instance == null) ? new ServiceCatalog() : instance;
+	}
+
+	// Duration in days, null when the service does not exist
+	public Integer getDuration(int serviceID) {
+		Map<Integer, Integer> current = durations;
+		if (current == null || (!current.containsKey(serviceID) && System.currentTimeMillis() - loadedAt > ttlMillis)) {
+			current = load();
+		}
+		return current.get(serviceID);
+	}
+
+	// Force a reload on the next lookup (after a service is added or deleted)
+	public void invalidate() {
+		durations = null;
+	}
+
+	private synchronized Map<Integer, Integer> load() {
+		Map<Integer, Integer> map = new HashMap<>();
+		for (ServiceModel s : new ServiceModel().getAllServices()) map.put(s.getServiceID(), s.getServiceDuration());
+		durations = map;
+		loadedAt = System.currentTimeMillis();
+		return map;
+	}
+}
@@ -0,0 +1,182 @@
+package model;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import database.Connect;
+
+/**
+ * StaffMetrics
+ * ------------
+ * Rolling productivity stats per laundry staff member, kept in memory and
+ * updated on every finished job (no history scans on read).
+ *
+ * Responsibilities:
+ * - Keep the most recent finished jobs per staff member in a ring buffer
+ *   (finish time, kg, turnaround)
+ * - Report jobs/hour and kg/hour over the window, p50/p90 turnaround
+ * - Seed the buffers from the last day of finished jobs (FinishedAt index)
+ *
+ * Notes:
+ * - Singleton, like EmployeeRoster
+ * - Window length: -Dgovlash.metrics.window (hours, default 8)
+ * - Reseeded every -Dgovlash.metrics.reseed minutes (default 15) so jobs
+ *   finished on other terminals are included
+ */
+
+public final class StaffMetrics {
+	
+	// Jobs kept per staff member (percentiles are over these)
+	public static final int CAPACITY = 256;
+	
+	private final long windowMillis = Integer.getInteger("govlash.metrics.window", 8) * 3_600_000L;
+	private final long reseedMillis = Integer.getInteger("govlash.metrics.reseed", 15) * 60_000L;
+	
+	// StaffID -> recent jobs, replaced as a whole on reseed
+	private volatile Map<Integer, Ring> byStaff = new ConcurrentHashMap<>();
+	private volatile long seededAt;
+	
+	private final Connect db = Connect.getConnection();
+	
+	// Singleton instance
+	private static StaffMetrics instance;
+	
+	private StaffMetrics() {}
+	
+	public static synchronized StaffMetrics getInstance() {
+		return instance = (instance == null) ? new StaffMetrics() : instance;
+	}
+	
+	// ===== EVENTS =====
+	
+	// A job was finished; assignedAt may be null (assigned before times were recorded)
+	public void recordFinish(int staffID, double kg, String assignedAt, String finishedAt) {
+		long finished = finishedAt == null ? System.currentTimeMillis() : toMillis(finishedAt);
+		long turnaround = assignedAt == null ? -1 : finished - toMillis(assignedAt);
+		byStaff.computeIfAbsent(staffID, id -> new Ring()).add(finished, kg, turnaround);
+	}
+	
+	// ===== READ =====
+	
+	// Stats for every laundry staff member (also those with no finished job yet)
+	public List<StaffStats> getStats() {
+		if (System.currentTimeMillis() - seededAt > reseedMillis) seed();
+		
+		long now = System.currentTimeMillis();
+		double windowHours = windowMillis / 3_600_000.0;
+		EmployeeRoster roster = EmployeeRoster.getInstance();
+		List<StaffStats> list = new ArrayList<>();
+		
+		for (UserModel staff : roster.getByRole("Laundry Staff")) {
+			Ring ring = byStaff.get(staff.getUserID());
+			int jobs = 0;
+			double kg = 0, p50 = Double.NaN, p90 = Double.NaN;
+			
+			if (ring != null) {
+				synchronized (ring) {
+					long[] turnarounds = new long[ring.count];
+					int samples = 0;
+					for (int i = 0; i < ring.count; i++) {
+						if (ring.finishedAt[i] >= now - windowMillis) {
+							jobs++;
+							kg += ring.kg[i];
+						}
+						if (ring.turnaround[i] >= 0) turnarounds[samples++] = ring.turnaround[i];
+					}
+					if (samples > 0) {
+						Arrays.sort(turnarounds, 0, samples);
+						p50 = percentile(turnarounds, samples, 0.50) / 60_000.0;
+						p90 = percentile(turnarounds, samples, 0.90) / 60_000.0;
+					}
+				}
+			}
+			list.add(new StaffStats(staff.getUserID(), staff.getUserName(), jobs, jobs / windowHours, kg / windowHours,
+					p50, p90, roster.getOpenJobCount(staff.getUserID())));
+		}
+		return list;
+	}
+	
+	// Jobs/hour of one staff member over the window (one pass over its ring, no sorting)
+	public double getJobsPerHour(int staffID) {
+		if (System.currentTimeMillis() - seededAt > reseedMillis) seed();
+		
+		Ring ring = byStaff.get(staffID);
+		if (ring == null) return 0;
+		
+		long since = System.currentTimeMillis() - windowMillis;
+		int jobs = 0;
+		synchronized (ring) {
+			for (int i = 0; i < ring.count; i++) {
+				if (ring.finishedAt[i] >= since) jobs++;
+			}
+		}
+		return jobs / (windowMillis / 3_600_000.0);
+	}
+	
+	// ===== SEEDING =====
+	
+	// Rebuild the buffers from jobs finished in the last day (or the window, if longer)
+	private synchronized void seed() {
+		if (System.currentTimeMillis() - seededAt <= reseedMillis) return;	// Another thread just did it
+		
+		Map<Integer, Ring> fresh = new ConcurrentHashMap<>();
+		long since = System.currentTimeMillis() - Math.max(windowMillis, 24 * 3_600_000L);
+		String query =
+			"SELECT LaundryStaffID, TotalWeight, AssignedAt, FinishedAt FROM Transactions " +
+			"WHERE FinishedAt >= ? AND LaundryStaffID IS NOT NULL ORDER BY FinishedAt";
+		
+		try (PreparedStatement ps = db.prepareStatement(query)) {
+			ps.setTimestamp(1, new Timestamp(since));
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					Timestamp assigned = rs.getTimestamp("AssignedAt");
+					long finished = rs.getTimestamp("FinishedAt").getTime();
+					fresh.computeIfAbsent(rs.getInt("LaundryStaffID"), id -> new Ring())
+						.add(finished, rs.getDouble("TotalWeight"), assigned == null ? -1 : finished - assigned.getTime());
+				}
+			}
+			byStaff = fresh;
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		seededAt = System.currentTimeMillis();
+	}
+	
+	// ===== HELPERS =====
+	
+	// Nearest-rank percentile of the first n sorted values
+	private static long percentile(long[] sorted, int n, double p) {
+		int rank = (int) Math.ceil(p * n);
+		return sorted[Math.max(0, Math.min(n, rank) - 1)];
+	}
+	
+	// "yyyy-MM-dd HH:mm:ss[.f]" (database DATETIME text) -> epoch millis
+	private static long toMillis(String dateTime) {
+		return LocalDateTime.parse(dateTime.substring(0, 19).replace(' ', 'T'))
+				.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+	
+	// Fixed-size buffer of the most recent jobs of one staff member
+	private static class Ring {
+		final long[] finishedAt = new long[CAPACITY];
+		final double[] kg = new double[CAPACITY];
+		final long[] turnaround = new long[CAPACITY];	// -1 = unknown
+		int next, count;
+		
+		synchronized void add(long finished, double weight, long turnaroundMillis) {
+			finishedAt[next] = finished;
+			kg[next] = weight;
+			turnaround[next] = turnaroundMillis;
+			next = (next + 1) % CAPACITY;
+			if (count < CAPACITY) count++;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package model;
+
+/**
+ * StaffStats
+ * ----------
+ * Snapshot of one laundry staff member's productivity, produced by
+ * StaffMetrics from its in-memory event buffers.
+ *
+ * Notes:
+ * - Rates are over the metrics window (last N hours, see StaffMetrics)
+ * - Turnaround = finish time - assignment time, over the most recent jobs;
+ *   NaN when no job with a recorded assignment time is known yet
+ */
+
+public class StaffStats {
+	
+	private final int staffID;
+	private final String staffName;
+	private final int jobsInWindow;
+	private final double jobsPerHour;
+	private final double kgPerHour;
+	private final double p50Minutes;
+	private final double p90Minutes;
+	private final int openJobs;
+	
+	public StaffStats(int staffID, String staffName, int jobsInWindow, double jobsPerHour, double kgPerHour,
+	                  double p50Minutes, double p90Minutes, int openJobs) {
+		this.staffID = staffID;
+		this.staffName = staffName;
+		this.jobsInWindow = jobsInWindow;
+		this.jobsPerHour = jobsPerHour;
+		this.kgPerHour = kgPerHour;
+		this.p50Minutes = p50Minutes;
+		this.p90Minutes = p90Minutes;
+		this.openJobs = openJobs;
+	}
+	
+	public int getStaffID() { return staffID; }
+	public String getStaffName() { return staffName; }
+	public int getJobsInWindow() { return jobsInWindow; }
+	public double getJobsPerHour() { return jobsPerHour; }
+	public double getKgPerHour() { return kgPerHour; }
+	public double getP50Minutes() { return p50Minutes; }
+	public double getP90Minutes() { return p90Minutes; }
+	public int getOpenJobs() { return openJobs; }
+}
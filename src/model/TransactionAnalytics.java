@@ -0,0 +1,166 @@
+package model;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import database.Connect;
+
+/**
+ * TransactionAnalytics
+ * --------------------
+ * Grouped statistics over the full transaction history, computed in
+ * parallel on all cores.
+ *
+ * Responsibilities:
+ * - Load Transactions x Services into TransactionColumns (dedicated connection)
+ * - Split the rows into slices with fork/join; each slice builds partial
+ *   sums in plain arrays, partials are merged pairwise
+ * - Produce an AnalyticsReport: per-service orders / kg / revenue,
+ *   orders per hour of day and per weekday, p50 / p90 turnaround
+ *
+ * Notes:
+ * - No locks or shared counters: every slice owns its partial arrays
+ * - Hour and weekday come from local epoch seconds by integer arithmetic
+ * - Turnaround percentiles come from a 15-minute histogram (exact to the bucket),
+ *   so slices merge by adding counts instead of collecting every value
+ */
+
+public class TransactionAnalytics {
+	
+	// Rows per leaf task; smaller slices only add scheduling overhead
+	private static final int MIN_SLICE = 16_384;
+	
+	// Turnaround histogram: 15-minute buckets up to 14 days, last bucket = longer
+	private static final int BUCKET_SECONDS = 15 * 60;
+	private static final int BUCKETS = 14 * 24 * 4 + 1;
+	
+	// Load the history and analyze it
+	public AnalyticsReport run() throws Exception {
+		long start = System.nanoTime();
+		TransactionColumns columns;
+		try (Connection con = Connect.getConnection().openDedicatedConnection()) {
+			columns = TransactionColumns.load(con);
+		}
+		long loaded = System.nanoTime();
+		
+		return analyze(columns, (loaded - start) / 1_000_000);
+	}
+	
+	// Analyze already-loaded columns (loadMillis is only carried into the report)
+	public AnalyticsReport analyze(TransactionColumns columns, long loadMillis) {
+		long start = System.nanoTime();
+		
+		int slice = Math.max(MIN_SLICE, columns.size() / (ForkJoinPool.getCommonPoolParallelism() * 4 + 1));
+		Partial total = ForkJoinPool.commonPool().invoke(new Slice(columns, 0, columns.size(), slice));
+		
+		List<RollupTotal> services = new ArrayList<>();
+		for (int s = 0; s < columns.serviceCount(); s++) {
+			services.add(new RollupTotal(columns.serviceName(s), (int) total.orders[s], total.weight[s], total.revenue[s]));
+		}
+		services.sort((a, b) -> Integer.compare(b.getOrderCount(), a.getOrderCount()));
+		
+		// Turnaround percentiles in hours: per service by name, and across all services
+		Map<String, double[]> turnaround = new HashMap<>();
+		long[] all = new long[BUCKETS];
+		for (int s = 0; s < columns.serviceCount(); s++) {
+			turnaround.put(columns.serviceName(s), new double[] { percentile(total.turnaround[s], 0.50), percentile(total.turnaround[s], 0.90) });
+			for (int b = 0; b < BUCKETS; b++) all[b] += total.turnaround[s][b];
+		}
+		
+		long computeMillis = (System.nanoTime() - start) / 1_000_000;
+		return new AnalyticsReport(services, total.hours, total.weekdays, turnaround,
+				percentile(all, 0.50), percentile(all, 0.90), columns.size(), loadMillis, computeMillis);
+	}
+	
+	// Upper edge (in hours) of the bucket holding the p-th value; NaN when the histogram is empty
+	private static double percentile(long[] histogram, double p) {
+		long n = 0;
+		for (long c : histogram) n += c;
+		if (n == 0) return Double.NaN;
+		
+		long rank = (long) Math.ceil(p * n), seen = 0;
+		for (int b = 0; b < BUCKETS; b++) {
+			seen += histogram[b];
+			if (seen >= rank) return (b + 1) * BUCKET_SECONDS / 3600.0;
+		}
+		return BUCKETS * BUCKET_SECONDS / 3600.0;
+	}
+	
+	// ===== FORK / JOIN =====
+	
+	// Partial sums of one slice
+	private static class Partial {
+		final long[] orders;
+		final double[] weight;
+		final double[] revenue;
+		final long[] hours = new long[24];
+		final long[] weekdays = new long[7];
+		final long[][] turnaround;		// [service][bucket]
+		
+		Partial(int serviceCount) {
+			orders = new long[serviceCount];
+			weight = new double[serviceCount];
+			revenue = new double[serviceCount];
+			turnaround = new long[serviceCount][BUCKETS];
+		}
+		
+		Partial merge(Partial other) {
+			for (int s = 0; s < orders.length; s++) {
+				orders[s] += other.orders[s];
+				weight[s] += other.weight[s];
+				revenue[s] += other.revenue[s];
+				for (int b = 0; b < BUCKETS; b++) turnaround[s][b] += other.turnaround[s][b];
+			}
+			for (int h = 0; h < 24; h++) hours[h] += other.hours[h];
+			for (int d = 0; d < 7; d++) weekdays[d] += other.weekdays[d];
+			return this;
+		}
+	}
+	
+	private static class Slice extends RecursiveTask<Partial> {
+		private static final long serialVersionUID = 1L;
+		
+		private final TransactionColumns c;
+		private final int from, to, threshold;
+		
+		Slice(TransactionColumns c, int from, int to, int threshold) {
+			this.c = c;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+		
+		@Override
+		protected Partial compute() {
+			if (to - from > threshold) {
+				int mid = (from + to) >>> 1;
+				Slice left = new Slice(c, from, mid, threshold);
+				left.fork();
+				Partial right = new Slice(c, mid, to, threshold).compute();
+				return left.join().merge(right);
+			}
+			
+			Partial p = new Partial(c.serviceCount());
+			for (int i = from; i < to; i++) {
+				int s = c.service(i);
+				double kg = c.weight(i);
+				p.orders[s]++;
+				p.weight[s] += kg;
+				p.revenue[s] += kg * c.price(i);
+				
+				long seconds = c.created(i);
+				p.hours[(int) ((seconds / 3600) % 24)]++;
+				p.weekdays[(int) ((seconds / 86400 + 3) % 7)]++;	// 1970-01-01 was a Thursday (Monday = 0)
+				
+				long turnaround = c.turnaround(i);
+				if (turnaround >= 0) p.turnaround[s][(int) Math.min(turnaround / BUCKET_SECONDS, BUCKETS - 1)]++;
+			}
+			return p;
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TransactionColumns
+ * ------------------
+ * Transaction history held column by column in primitive arrays, for
+ * analytics over the whole table (see TransactionAnalytics).
+ *
+ * One array per attribute instead of one object per row: a million rows
+ * cost a few tens of MB and scan linearly in cache.
+ *
+ * Columns (index i = one transaction):
+ * - service[i]   dense service index (0..serviceCount-1), names in serviceNames
+ * - weight[i]    TotalWeight (kg)
+ * - price[i]     ServicePrice per kg
+ * - created[i]   TransactionDate as local epoch seconds (hour / weekday by arithmetic)
+ * - turnaround[i] FinishedAt - AssignedAt in seconds, -1 when either is unknown
+ *
+ * Notes:
+ * - Loaded with a streaming cursor on a dedicated connection
+ * - Immutable after load
+ */
+
+public class TransactionColumns {
+	
+	private int size;
+	private int[] service = new int[1024];
+	private double[] weight = new double[1024];
+	private double[] price = new double[1024];
+	private long[] created = new long[1024];
+	private long[] turnaround = new long[1024];
+	
+	private final Map<Integer, Integer> serviceIndex = new HashMap<>();	// ServiceID => dense index
+	private String[] serviceNames = new String[0];
+	
+	private TransactionColumns() {}
+	
+	// Stream Transactions joined with Services into columns (fetch size Integer.MIN_VALUE = MySQL streaming)
+	public static TransactionColumns load(Connection con) throws Exception {
+		TransactionColumns c = new TransactionColumns();
+		String query =
+			"SELECT t.ServiceID, s.ServiceName, s.ServicePrice, t.TotalWeight, " +
+			"t.TransactionDate, TIMESTAMPDIFF(SECOND, t.AssignedAt, t.FinishedAt) " +
+			"FROM Transactions t JOIN Services s ON s.ServiceID = t.ServiceID";
+		
+		try (PreparedStatement ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+			ps.setFetchSize(Integer.MIN_VALUE);
+			
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					c.ensureCapacity();
+					int i = c.size++;
+					
+					c.service[i] = c.indexOf(rs.getInt(1), rs.getString(2));
+					c.price[i] = rs.getDouble(3);
+					c.weight[i] = rs.getDouble(4);
+					Timestamp date = rs.getTimestamp(5);
+					c.created[i] = date == null ? 0 : date.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+					long seconds = rs.getLong(6);
+					c.turnaround[i] = rs.wasNull() ? -1 : seconds;
+				}
+			}
+		}
+		return c;
+	}
+	
+	private int indexOf(int serviceID, String name) {
+		Integer index = serviceIndex.get(serviceID);
+		if (index == null) {
+			index = serviceIndex.size();
+			serviceIndex.put(serviceID, index);
+			serviceNames = Arrays.copyOf(serviceNames, index + 1);
+			serviceNames[index] = name;
+		}
+		return index;
+	}
+	
+	// Grow every column by half when full
+	private void ensureCapacity() {
+		if (size < service.length) return;
+		int capacity = service.length + (service.length >> 1);
+		service = Arrays.copyOf(service, capacity);
+		weight = Arrays.copyOf(weight, capacity);
+		price = Arrays.copyOf(price, capacity);
+		created = Arrays.copyOf(created, capacity);
+		turnaround = Arrays.copyOf(turnaround, capacity);
+	}
+	
+	public int size() { return size; }
+	public int serviceCount() { return serviceNames.length; }
+	public String serviceName(int index) { return serviceNames[index]; }
+	
+	public int service(int i) { return service[i]; }
+	public double weight(int i) { return weight[i]; }
+	public double price(int i) { return price[i]; }
+	public long created(int i) { return created[i]; }
+	public long turnaround(int i) { return turnaround[i]; }
+}
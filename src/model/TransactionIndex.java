@@ -0,0 +1,137 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * TransactionIndex
+ * ----------------
+ * In-memory indexes over a loaded set of transaction rows.
+ *
+ * Built once per load; afterwards every filter change is answered by
+ * intersecting bitsets instead of querying the database again.
+ *
+ * Responsibilities:
+ * - Bucket rows by status, customer, service and month (yyyy-MM)
+ * - Keep a lowercase search text per row (ID, names, notes, date)
+ * - Answer combined queries as a BitSet of row positions
+ *
+ * Notes:
+ * - Rows are identified by position in the list given to the constructor
+ * - The text search only scans rows already matched by the bucket filters
+ * - Immutable after construction; rebuild it when the rows are reloaded
+ */
+
+public class TransactionIndex {
+
+	private final List<TransactionSummary> rows;
+	private final Map<TransactionSummary, Integer> positions = new IdentityHashMap<>();
+
+	private final Map<String, BitSet> byStatus = new HashMap<>();
+	private final Map<Integer, BitSet> byCustomer = new HashMap<>();
+	private final Map<Integer, BitSet> byService = new HashMap<>();
+	private final Map<String, BitSet> byMonth = new HashMap<>();
+	private final String[] searchText;
+
+	public TransactionIndex(List<TransactionSummary> rows) {
+		this.rows = new ArrayList<>(rows);
+		this.searchText = new String[this.rows.size()];
+
+		for (int i = 0; i < this.rows.size(); i++) {
+			TransactionSummary t = this.rows.get(i);
+			positions.put(t, i);
+
+			bucket(byStatus, normalize(t.getTransactionStatus()), i);
+			bucket(byCustomer, t.getCustomerID(), i);
+			bucket(byService, t.getServiceID(), i);
+			bucket(byMonth, monthOf(t.getTransactionDate()), i);
+
+			searchText[i] = (t.getTransactionID() + " " + t.getCustomerName() + " " + t.getServiceName() + " "
+				+ t.getStaffName() + " " + t.getTransactionNotes() + " " + t.getTransactionDate()).toLowerCase();
+		}
+	}
+
+	// ===== QUERY =====
+
+	// Positions matching every given criterion (null / blank = no restriction)
+	public BitSet query(String status, Integer customerID, Integer serviceID, String month, String search) {
+		BitSet result = new BitSet(rows.size());
+		result.set(0, rows.size());
+
+		if (status != null) restrict(result, byStatus.get(normalize(status)));
+		if (customerID != null) restrict(result, byCustomer.get(customerID));
+		if (serviceID != null) restrict(result, byService.get(serviceID));
+		if (month != null) restrict(result, byMonth.get(month));
+
+		if (search != null && !search.isBlank()) {
+			String needle = search.trim().toLowerCase();
+			for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+				if (!searchText[i].contains(needle)) result.clear(i);
+			}
+		}
+		return result;
+	}
+
+	// Position of a row in this index, or -1 if it was not part of the load
+	public int positionOf(TransactionSummary t) {
+		Integer position = positions.get(t);
+		return position == null ? -1 : position;
+	}
+
+	// ===== BUCKET KEYS (for filter choices) =====
+
+	// Months present in the data, newest first
+	public List<String> getMonths() {
+		List<String> months = new ArrayList<>(new TreeSet<>(byMonth.keySet()).descendingSet());
+		months.remove("");
+		return months;
+	}
+	
+	// Customer name -> CustomerID for the customers present in the data, by name
+	public Map<String, Integer> getCustomers() {
+		Map<String, Integer> customers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map.Entry<Integer, BitSet> e : byCustomer.entrySet()) {
+			customers.put(String.valueOf(rows.get(e.getValue().nextSetBit(0)).getCustomerName()), e.getKey());
+		}
+		return customers;
+	}
+	
+	// Service name -> ServiceID for the services present in the data, by name
+	public Map<String, Integer> getServices() {
+		Map<String, Integer> services = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Map.Entry<Integer, BitSet> e : byService.entrySet()) {
+			services.put(String.valueOf(rows.get(e.getValue().nextSetBit(0)).getServiceName()), e.getKey());
+		}
+		return services;
+	}
+
+	public int size() {
+		return rows.size();
+	}
+
+	// ===== HELPERS =====
+
+	private static <K> void bucket(Map<K, BitSet> index, K key, int position) {
+		index.computeIfAbsent(key, k -> new BitSet()).set(position);
+	}
+
+	private static void restrict(BitSet result, BitSet bucket) {
+		if (bucket == null) result.clear();
+		else result.and(bucket);
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.toLowerCase();
+	}
+
+	// TransactionDate is stored as "yyyy-MM-dd ..."; bucket on the first 7 characters
+	private static String monthOf(String date) {
+		return (date == null || date.length() < 7) ? "" : date.substring(0, 7);
+	}
+}
@@ -1,10 +1,19 @@
 package model;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import database.Connect;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
 
 /**
  * TransactionModel
@@ -16,10 +25,12 @@ import database.Connect;
  * - Fetch transactions with different filters (status, customer, staff)
  * - Assign staff to transactions
  * - Update transaction status
+ * - Fetch list projections with customer / service / staff names joined in
  *
  * Handles nullable fields such as:
  * - ReceptionistID
  * - LaundryStaffID
+ * - AssignedAt / FinishedAt (recorded on assign / finish)
  */
 
 public class TransactionModel {
@@ -34,9 +45,16 @@ public class TransactionModel {
     private String transactionStatus;
     private double totalWeight;
     private String transactionNotes;
+    private String assignedAt;			// Nullable (set when a staff member is assigned)
+    private String finishedAt;			// Nullable (set when the job is finished)
+    
+    // Observable status for table cells (created on first use)
+    private ReadOnlyStringWrapper statusProperty;
     
     // Database Connection instance
     private final Connect db = Connect.getConnection();
+    
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     // For fetching
     public TransactionModel() {}
@@ -79,6 +97,14 @@ public class TransactionModel {
     public String getTransactionStatus() { return transactionStatus; }
     public double getTotalWeight() { return totalWeight; }
     public String getTransactionNotes() { return transactionNotes; }
+    public String getAssignedAt() { return assignedAt; }
+    public String getFinishedAt() { return finishedAt; }
+    
+    // Status as an observable value, so a status change updates the bound cell in place
+    public ReadOnlyStringProperty transactionStatusProperty() {
+        if (statusProperty == null) statusProperty = new ReadOnlyStringWrapper(transactionStatus);
+        return statusProperty.getReadOnlyProperty();
+    }
     
     public List<TransactionModel> getAllTransactions(String statusFilter) {
         List<TransactionModel> list = new ArrayList<>();
@@ -197,39 +223,371 @@ public class TransactionModel {
         return list;
     }
 
-    // Updates LaundryStaffID AND ReceptionistID
-    public void assignStaff(int staffID, int receptionistID) {
-        String query = String.format(
-            "UPDATE Transactions SET LaundryStaffID = %d, ReceptionistID = %d WHERE TransactionID = %d",
-            staffID, receptionistID, this.transactionID
-        );
-        db.executeUpdate(query);
+    // ===== LIST PROJECTIONS (names joined in, one query per page) =====
+    
+    // Rows loaded per page in list screens (more pages through a keyset cursor)
+    public static final int PAGE_SIZE = 500;
+    
+    private static final String SUMMARY_SELECT =
+        "SELECT t.*, c.UserName AS CustomerName, s.ServiceName, s.ServicePrice, ls.UserName AS StaffName " +
+        "FROM Transactions t " +
+        "LEFT JOIN Users c ON c.UserID = t.CustomerID " +
+        "LEFT JOIN Services s ON s.ServiceID = t.ServiceID " +
+        "LEFT JOIN Users ls ON ls.UserID = t.LaundryStaffID ";
+    
+    // All transactions (optionally Finished / Pending only), newest first
+    public List<TransactionSummary> getTransactionSummaries(String statusFilter, int limit) {
+        String query = SUMMARY_SELECT;
+        
+        if ("Finished".equalsIgnoreCase(statusFilter) || "Pending".equalsIgnoreCase(statusFilter)) {
+            query += "WHERE t.TransactionStatus = ? ";
+        } else {
+            statusFilter = null;
+        }
+        query += "ORDER BY t.TransactionDate DESC LIMIT ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            if (statusFilter != null) ps.setString(i++, statusFilter);
+            ps.setInt(i, limit);
+            return readSummaries(ps);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
     }
     
-    public void updateTransactionStatus() {
-        String query = String.format(
-            "UPDATE Transactions SET TransactionStatus = 'Finished' WHERE TransactionID = %d",
-            this.transactionID
+    // Pending jobs of one laundry staff, newest first. Pass the last row of the previous page as cursor (null = first page).
+    public List<TransactionSummary> getJobQueueSummariesForStaff(int staffID, TransactionSummary cursor, int limit) {
+        String query = SUMMARY_SELECT +
+            "WHERE t.LaundryStaffID = ? AND t.TransactionStatus = 'Pending' " +
+            (cursor == null ? "" : "AND (t.TransactionDate < ? OR (t.TransactionDate = ? AND t.TransactionID < ?)) ") +
+            "ORDER BY t.TransactionDate DESC, t.TransactionID DESC LIMIT ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            ps.setInt(i++, staffID);
+            if (cursor != null) {
+                ps.setString(i++, cursor.getTransactionDate());
+                ps.setString(i++, cursor.getTransactionDate());
+                ps.setInt(i++, cursor.getTransactionID());
+            }
+            ps.setInt(i, limit);
+            return readSummaries(ps);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    // Pending transactions with no staff assigned yet, oldest first. Pass the last row of the previous page as cursor (null = first page).
+    public List<TransactionSummary> getUnassignedPendingSummaries(TransactionSummary cursor, int limit) {
+        String query = SUMMARY_SELECT +
+            "WHERE t.TransactionStatus = 'Pending' AND t.LaundryStaffID IS NULL " +
+            (cursor == null ? "" : "AND (t.TransactionDate > ? OR (t.TransactionDate = ? AND t.TransactionID > ?)) ") +
+            "ORDER BY t.TransactionDate, t.TransactionID LIMIT ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            if (cursor != null) {
+                ps.setString(i++, cursor.getTransactionDate());
+                ps.setString(i++, cursor.getTransactionDate());
+                ps.setInt(i++, cursor.getTransactionID());
+            }
+            ps.setInt(i, limit);
+            return readSummaries(ps);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    // ===== SEARCH (typed criteria, keyset paging) =====
+    
+    // One page of matches, newest first. Pass the last row of the previous page as cursor (null = first page).
+    // Callers validate the criteria first; unindexed combinations return an empty list here.
+    public List<TransactionSummary> search(TransactionSearchCriteria criteria, TransactionSummary cursor, int limit) {
+        if (criteria == null || criteria.validate() != null) return new ArrayList<>();
+        
+        StringBuilder where = new StringBuilder("WHERE 1 = 1 ");
+        List<Object> params = new ArrayList<>();
+        
+        // Indexed criteria: equality columns first, then the TransactionDate range they share
+        if (criteria.getCustomerID() != null) {
+            where.append("AND t.CustomerID = ? ");
+            params.add(criteria.getCustomerID());
+        }
+        if (criteria.getServiceID() != null) {
+            where.append("AND t.ServiceID = ? ");
+            params.add(criteria.getServiceID());
+        }
+        if (criteria.getStaffID() != null) {
+            where.append("AND t.LaundryStaffID = ? ");
+            params.add(criteria.getStaffID());
+        }
+        if (!criteria.getStatuses().isEmpty()) {
+            where.append("AND t.TransactionStatus IN (")
+                 .append(String.join(", ", Collections.nCopies(criteria.getStatuses().size(), "?")))
+                 .append(") ");
+            params.addAll(criteria.getStatuses());
+        }
+        if (criteria.getFromDate() != null) {
+            where.append("AND t.TransactionDate >= ? ");
+            params.add(criteria.getFromDate().toString());
+        }
+        if (criteria.getToDate() != null) {
+            where.append("AND t.TransactionDate < ? ");	// Inclusive end date => before the next day
+            params.add(criteria.getToDate().plusDays(1).toString());
+        }
+        
+        // Residual criteria, checked on rows the index already narrowed down
+        if (criteria.getMinWeight() != null) {
+            where.append("AND t.TotalWeight >= ? ");
+            params.add(criteria.getMinWeight());
+        }
+        if (criteria.getMaxWeight() != null) {
+            where.append("AND t.TotalWeight <= ? ");
+            params.add(criteria.getMaxWeight());
+        }
+        if (criteria.getNotesText() != null) {
+            where.append("AND t.TransactionNotes LIKE ? ESCAPE '!' ");
+            params.add("%" + criteria.getNotesText().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+        }
+        
+        // Keyset: continue strictly after the cursor row
+        if (cursor != null) {
+            where.append("AND (t.TransactionDate < ? OR (t.TransactionDate = ? AND t.TransactionID < ?)) ");
+            params.add(cursor.getTransactionDate());
+            params.add(cursor.getTransactionDate());
+            params.add(cursor.getTransactionID());
+        }
+        
+        String query = SUMMARY_SELECT + where + "ORDER BY t.TransactionDate DESC, t.TransactionID DESC LIMIT ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            int i = 1;
+            for (Object param : params) ps.setObject(i++, param);
+            ps.setInt(i, limit);
+            return readSummaries(ps);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    // ===== FULL-TEXT SEARCH (FULLTEXT index on TransactionNotes) =====
+    // Ranked by relevance, then newest first. Ranked results page by offset (scores are not a stable key).
+    public List<TransactionSummary> searchNotes(String text, int offset, int limit) {
+        String query =
+            "SELECT t.*, c.UserName AS CustomerName, s.ServiceName, s.ServicePrice, ls.UserName AS StaffName, " +
+            "MATCH(t.TransactionNotes) AGAINST (? IN NATURAL LANGUAGE MODE) AS Score " +
+            "FROM Transactions t " +
+            "LEFT JOIN Users c ON c.UserID = t.CustomerID " +
+            "LEFT JOIN Services s ON s.ServiceID = t.ServiceID " +
+            "LEFT JOIN Users ls ON ls.UserID = t.LaundryStaffID " +
+            "WHERE MATCH(t.TransactionNotes) AGAINST (? IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY Score DESC, t.TransactionDate DESC, t.TransactionID DESC LIMIT ? OFFSET ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setString(1, text);
+            ps.setString(2, text);
+            ps.setInt(3, limit);
+            ps.setInt(4, offset);
+            return readSummaries(ps);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+    
+    // ===== STREAMING (exports) =====
+    
+    // Number of transactions in [from, to] (inclusive dates, null = open end); used as the export progress total
+    public long countBetween(LocalDate from, LocalDate to) {
+        String query = "SELECT COUNT(*) FROM Transactions t WHERE 1 = 1 " + dateRange(from, to);
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            bindDateRange(ps, 1, from, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getLong(1);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+    
+    // Streams every transaction in [from, to] to the handler, oldest first, one row at a time.
+    // Runs on a dedicated connection (Connect.openDedicatedConnection) because a MySQL streaming
+    // result set (forward-only, fetch size Integer.MIN_VALUE) keeps the connection busy until read to the end.
+    // Returns the number of rows handled.
+    public long streamSummaries(Connection con, LocalDate from, LocalDate to, RowHandler<TransactionSummary> handler) throws Exception {
+        String query = SUMMARY_SELECT + "WHERE 1 = 1 " + dateRange(from, to) + "ORDER BY t.TransactionDate, t.TransactionID";
+        long rows = 0;
+        
+        try (PreparedStatement ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);	// Connector/J: stream rows instead of buffering the whole result
+            bindDateRange(ps, 1, from, to);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(readSummary(rs));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+    
+    private static String dateRange(LocalDate from, LocalDate to) {
+        return (from == null ? "" : "AND t.TransactionDate >= ? ") + (to == null ? "" : "AND t.TransactionDate < ? ");
+    }
+    
+    private static void bindDateRange(PreparedStatement ps, int index, LocalDate from, LocalDate to) throws Exception {
+        if (from != null) ps.setString(index++, from.toString());
+        if (to != null) ps.setString(index, to.plusDays(1).toString());	// Inclusive end date
+    }
+    
+    // Maps the SUMMARY_SELECT columns into TransactionSummary rows
+    private List<TransactionSummary> readSummaries(PreparedStatement ps) throws Exception {
+        List<TransactionSummary> list = new ArrayList<>();
+        
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                list.add(readSummary(rs));
+            }
+        }
+        return list;
+    }
+    
+    private static TransactionSummary readSummary(ResultSet rs) throws Exception {
+        TransactionSummary t = new TransactionSummary(
+            rs.getInt("TransactionID"),
+            rs.getInt("ServiceID"),
+            rs.getInt("CustomerID"),
+            (Integer) rs.getObject("ReceptionistID"),
+            (Integer) rs.getObject("LaundryStaffID"),
+            rs.getString("TransactionDate"),
+            rs.getString("TransactionStatus"),
+            rs.getDouble("TotalWeight"),
+            rs.getString("TransactionNotes"),
+            rs.getString("CustomerName"),
+            rs.getString("ServiceName"),
+            rs.getDouble("ServicePrice"),
+            rs.getString("StaffName")
         );
-        db.executeUpdate(query);
+        TransactionModel row = t;	// Private fields are reachable through the declaring type only
+        row.assignedAt = rs.getString("AssignedAt");
+        row.finishedAt = rs.getString("FinishedAt");
+        return t;
+    }
+    
+    // Current time in the database DATETIME format
+    private static String now() {
+        return LocalDateTime.now().format(DATE_TIME);
+    }
+
+    // Updates LaundryStaffID AND ReceptionistID
+    // Also records AssignedAt (same timestamp in the row and in this object, used for turnaround)
+    // Returns the rows changed: 0 when another terminal already assigned it (this object is left as is)
+    public int assignStaff(int staffID, int receptionistID) {
+        String now = now();
+        String query =
+            "UPDATE Transactions SET LaundryStaffID = ?, ReceptionistID = ?, AssignedAt = ? " +
+            "WHERE TransactionID = ? AND LaundryStaffID IS NULL";
+        
+        int changed = 0;
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setInt(1, staffID);
+            ps.setInt(2, receptionistID);
+            ps.setString(3, now);
+            ps.setInt(4, this.transactionID);
+            changed = ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        if (changed == 0) return 0;
+        
+        this.laundryStaffID = staffID;
+        this.receptionistID = receptionistID;
+        this.assignedAt = now;
+        return changed;
+    }
+    
+    // Also records FinishedAt
+    // Returns the rows changed: 0 when it was already finished (e.g. a double click or a second terminal)
+    public int updateTransactionStatus() {
+        String now = now();
+        String query =
+            "UPDATE Transactions SET TransactionStatus = 'Finished', FinishedAt = ? " +
+            "WHERE TransactionID = ? AND TransactionStatus = 'Pending'";
+        
+        int changed = 0;
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setString(1, now);
+            ps.setInt(2, this.transactionID);
+            changed = ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        if (changed == 0) return 0;
+        this.finishedAt = now;
         
         this.transactionStatus = "Finished";
+        if (statusProperty != null) statusProperty.set(transactionStatus);
+        return changed;
     }
     
+    // Stores the generated TransactionID and the order time back into this object
+    // (the SLA tracker needs both to schedule the due-date timer)
     public void save() {
         String query =
             "INSERT INTO Transactions " +
             "(ServiceID, CustomerID, TransactionDate, TransactionStatus, TotalWeight, TransactionNotes) " +
-            "VALUES (" +
-            serviceID + ", " +
-            customerID + ", " +
-            "NOW(), 'Pending', " +
-            totalWeight + ", " +
-            "'" + transactionNotes + "'" +
-            ")";
-
-        db.executeUpdate(query);
+            "VALUES (?, ?, ?, 'Pending', ?, ?)";
+        
+        String now = now();
+        try (PreparedStatement ps = db.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, serviceID);
+            ps.setInt(2, customerID);
+            ps.setString(3, now);
+            ps.setDouble(4, totalWeight);
+            ps.setString(5, transactionNotes);
+            ps.executeUpdate();
+            
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) transactionID = keys.getInt(1);
+            }
+            transactionDate = now;
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+    
+    // ===== BULK INSERT (imports) =====
+    // One multi-row INSERT for the whole list. TransactionDate null => NOW(), status null => Pending.
+    // Runs on the caller's connection (dedicated import connection, caller controls commit).
+    public int saveAll(Connection con, List<TransactionModel> rows) throws Exception {
+        if (rows.isEmpty()) return 0;
+        
+        StringBuilder query = new StringBuilder(
+            "INSERT INTO Transactions " +
+            "(ServiceID, CustomerID, TransactionDate, TransactionStatus, TotalWeight, TransactionNotes) VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            query.append(i == 0 ? "" : ", ").append("(?, ?, COALESCE(?, NOW()), ?, ?, ?)");
+        }
+        
+        try (PreparedStatement ps = con.prepareStatement(query.toString())) {
+            int i = 1;
+            for (TransactionModel t : rows) {
+                ps.setInt(i++, t.serviceID);
+                ps.setInt(i++, t.customerID);
+                ps.setString(i++, t.transactionDate);
+                ps.setString(i++, t.transactionStatus == null ? "Pending" : t.transactionStatus);
+                ps.setDouble(i++, t.totalWeight);
+                ps.setString(i++, t.transactionNotes);
+            }
+            return ps.executeUpdate();
+        }
     }
-
-
 }
@@ -0,0 +1,144 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * TransactionSearchCriteria
+ * -------------------------
+ * Typed filter for the server-side transaction search
+ * (see TransactionModel.search).
+ *
+ * Every field is optional; unset fields do not restrict the result.
+ *
+ * Selective criteria (at least one is required):
+ * - Customer, service or staff          -> (CustomerID | ServiceID | LaundryStaffID, TransactionDate)
+ * - One status with a start or end date -> (TransactionStatus, TransactionDate)
+ * - A date range with both ends         -> (TransactionDate)
+ * A status set alone is not enough: {Pending, Finished} matches the whole table.
+ *
+ * Residual criteria (only applied on top of a selective one):
+ * - Weight range
+ * - Notes text (substring match)
+ *
+ * Notes:
+ * - validate() returns an error message, or null when the search may run
+ * - Date range is inclusive on both ends
+ */
+
+public class TransactionSearchCriteria {
+
+	// Allowed values for the status set
+	public static final Set<String> STATUSES = Set.of("Pending", "Finished");
+
+	private LocalDate fromDate;
+	private LocalDate toDate;
+	private final Set<String> statuses = new LinkedHashSet<>();
+	private Integer customerID;
+	private Integer serviceID;
+	private Integer staffID;
+	private Double minWeight;
+	private Double maxWeight;
+	private String notesText;
+
+	// ===== VALIDATION =====
+
+	public String validate() {
+		if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+			return "Start date must be before end date.";
+		}
+		if (minWeight != null && maxWeight != null && minWeight > maxWeight) {
+			return "Minimum weight must not exceed maximum weight.";
+		}
+		for (String status : statuses) {
+			if (!STATUSES.contains(status)) return "Unknown status: " + status;
+		}
+		if (!hasIndexedCriterion()) {
+			return "Please narrow the search by customer, service or staff, a date range, or one status with a date.";
+		}
+		return null;
+	}
+
+	// True when the criteria drive a bounded index range scan (not a scan of the whole table)
+	public boolean hasIndexedCriterion() {
+		if (customerID != null || serviceID != null || staffID != null) return true;
+		if (statuses.size() == 1 && (fromDate != null || toDate != null)) return true;
+		return fromDate != null && toDate != null;
+	}
+
+	// ===== GETTERS & SETTERS =====
+
+	public LocalDate getFromDate() {
+		return fromDate;
+	}
+
+	public void setFromDate(LocalDate fromDate) {
+		this.fromDate = fromDate;
+	}
+
+	public LocalDate getToDate() {
+		return toDate;
+	}
+
+	public void setToDate(LocalDate toDate) {
+		this.toDate = toDate;
+	}
+
+	public Set<String> getStatuses() {
+		return statuses;
+	}
+
+	public void setStatuses(Set<String> statuses) {
+		this.statuses.clear();
+		if (statuses != null) this.statuses.addAll(statuses);
+	}
+
+	public Integer getCustomerID() {
+		return customerID;
+	}
+
+	public void setCustomerID(Integer customerID) {
+		this.customerID = customerID;
+	}
+
+	public Integer getServiceID() {
+		return serviceID;
+	}
+
+	public void setServiceID(Integer serviceID) {
+		this.serviceID = serviceID;
+	}
+
+	public Integer getStaffID() {
+		return staffID;
+	}
+
+	public void setStaffID(Integer staffID) {
+		this.staffID = staffID;
+	}
+
+	public Double getMinWeight() {
+		return minWeight;
+	}
+
+	public void setMinWeight(Double minWeight) {
+		this.minWeight = minWeight;
+	}
+
+	public Double getMaxWeight() {
+		return maxWeight;
+	}
+
+	public void setMaxWeight(Double maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	public String getNotesText() {
+		return notesText;
+	}
+
+	public void setNotesText(String notesText) {
+		this.notesText = (notesText == null || notesText.isBlank()) ? null : notesText.trim();
+	}
+}
@@ -0,0 +1,50 @@
+package model;
+
+/**
+ * TransactionSummary
+ * ------------------
+ * Read-only projection of a transaction for list screens.
+ *
+ * Carries the transaction columns plus the names that would otherwise need
+ * a lookup per row (customer, service, assigned staff). Filled by the join
+ * queries in TransactionModel, one query per page.
+ *
+ * Notes:
+ * - Extends TransactionModel so the existing actions (assign, finish, notify)
+ *   still work on a selected row
+ * - Staff name is null while the transaction is unassigned
+ */
+
+public class TransactionSummary extends TransactionModel {
+	
+	// Joined Attributes
+	private String customerName;
+	private String serviceName;
+	private double servicePrice;
+	private String staffName;		// Nullable
+	
+	public TransactionSummary(int transactionID, int serviceID, int customerID,
+	                          Integer receptionistID, Integer laundryStaffID,
+	                          String transactionDate, String transactionStatus,
+	                          double totalWeight, String transactionNotes,
+	                          String customerName, String serviceName,
+	                          double servicePrice, String staffName) {
+		
+		super(transactionID, serviceID, customerID, receptionistID, laundryStaffID,
+		      transactionDate, transactionStatus, totalWeight, transactionNotes);
+		
+		this.customerName = customerName;
+		this.serviceName = serviceName;
+		this.servicePrice = servicePrice;
+		this.staffName = staffName;
+	}
+	
+	// Getters
+	public String getCustomerName() { return customerName; }
+	public String getServiceName() { return serviceName; }
+	public double getServicePrice() { return servicePrice; }
+	public String getStaffName() { return staffName; }
+	
+	// Price for this order (weight x price per kg)
+	public double getTotalPrice() { return getTotalWeight() * servicePrice; }
+}
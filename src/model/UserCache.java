@@ -0,0 +1,101 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserCache
+ * ---------
+ * Bounded read-through cache of UserSummary objects keyed by UserID.
+ *
+ * Responsibilities:
+ * - Resolve user IDs to names/roles without a query per row
+ * - Fetch all missing IDs of a bulk lookup with one IN (...) query
+ * - Evict the least recently used entries once the size limit is reached
+ * - Drop entries when users are created or changed (UserModel.save)
+ *
+ * Notes:
+ * - Singleton, like Connect
+ * - Safe to use from background threads (all map access is synchronized,
+ *   database reads happen outside the lock)
+ * - Size limit is set with -Dgovlash.usercache.size (default 1000)
+ */
+
+public final class UserCache {
+	
+	private final int maxSize = Integer.getInteger("govlash.usercache.size", 1000);
+	
+	// Access-ordered LinkedHashMap = LRU, eldest entry removed when over maxSize
+	private final LinkedHashMap<Integer, UserSummary> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, UserSummary> eldest) {
+			return size() > maxSize;
+		}
+	};
+	
+	private final UserModel userModel = new UserModel();
+	
+	// Singleton instance
+	private static UserCache instance;
+	
+	private UserCache() {}
+	
+	public static synchronized UserCache getInstance() {
+		return instance = (instance == null) ? new UserCache() : instance;
+	}
+	
+	// Single lookup, null if the user does not exist
+	public UserSummary get(int userID) {
+		return getAll(List.of(userID)).get(userID);
+	}
+	
+	// Convenience for display: name or "-" when unknown / null
+	public String getName(Integer userID) {
+		if (userID == null) return "-";
+		UserSummary u = get(userID);
+		return u == null ? "-" : u.getUserName();
+	}
+	
+	// Bulk lookup: cached entries are returned directly, the rest are fetched in one query
+	public Map<Integer, UserSummary> getAll(Collection<Integer> userIDs) {
+		Map<Integer, UserSummary> result = new HashMap<>();
+		List<Integer> missing = new ArrayList<>();
+		
+		synchronized (entries) {
+			for (Integer id : userIDs) {
+				if (id == null || result.containsKey(id)) continue;
+				UserSummary u = entries.get(id);
+				if (u != null) result.put(id, u);
+				else if (!missing.contains(id)) missing.add(id);
+			}
+		}
+		
+		if (!missing.isEmpty()) {
+			List<UserSummary> fetched = userModel.getUserSummaries(missing);
+			synchronized (entries) {
+				for (UserSummary u : fetched) {
+					entries.put(u.getUserID(), u);
+					result.put(u.getUserID(), u);
+				}
+			}
+		}
+		return result;
+	}
+	
+	// Remove one user (called after the user row is inserted / updated)
+	public void invalidate(int userID) {
+		synchronized (entries) {
+			entries.remove(userID);
+		}
+	}
+	
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+}
@@ -2,6 +2,7 @@ package model;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,9 +21,11 @@ import database.Connect;
  *
  * Responsibilities:
  * - Register users
- * - Authenticate login
+ * - Authenticate login (PBKDF2 hashes, rehash on login)
  * - Fetch All Employee
+ * - Fetch user summaries by ID (UserCache)
  * - Check username/email uniqueness
+ * - List customer IDs by segment (broadcasts)
  */
 
 
@@ -69,28 +72,44 @@ public class UserModel {
         this.userRole = userRole;
     }
     
-    // ===== CHECK USERNAME EXISTS =====
-    public static boolean isUsernameExists(String username) {
+    // ===== CHECK USERNAME / EMAIL TAKEN (one probe) =====
+    // The Bloom filter answers "definitely free" without the database.
+    // Anything it cannot rule out is confirmed with ONE query using the unique indexes.
+    // Pass null for a value that should not be checked.
+    public static AvailabilityCheck checkAvailability(String username, String email) {
+        CredentialBloomFilter filter = CredentialBloomFilter.getInstance();
+        boolean checkName = username != null && filter.mightContainUsername(username);
+        boolean checkEmail = email != null && filter.mightContainEmail(email);
+        
+        if (!checkName && !checkEmail) return new AvailabilityCheck(false, false);
+        
         String query =
-            "SELECT * FROM Users WHERE UserName = '" + username + "'";
+            "SELECT EXISTS(SELECT 1 FROM Users WHERE UserName = ?) AS NameTaken, " +
+            "EXISTS(SELECT 1 FROM Users WHERE UserEmail = ?) AS EmailTaken";
 
-        try (ResultSet rs = Connect.getConnection().executeQuery(query)) {
-            return rs.next();
+        try (PreparedStatement ps = Connect.getConnection().prepareStatement(query)) {
+            ps.setString(1, checkName ? username : null);
+            ps.setString(2, checkEmail ? email : null);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new AvailabilityCheck(rs.getBoolean("NameTaken"), rs.getBoolean("EmailTaken"));
+                }
+            }
         } catch (Exception e) {
-            return false;
+            e.printStackTrace();
         }
+        return new AvailabilityCheck(false, false);
+    }
+    
+    // ===== CHECK USERNAME EXISTS =====
+    public static boolean isUsernameExists(String username) {
+        return checkAvailability(username, null).isUsernameTaken();
     }
     
     // ===== CHECK EMAIL EXISTS =====
     public static boolean isEmailExists(String email) {
-        String query =
-            "SELECT * FROM Users WHERE UserEmail = '" + email + "'";
-
-        try (ResultSet rs = Connect.getConnection().executeQuery(query)) {
-            return rs.next();
-        } catch (Exception e) {
-            return false;
-        }
+        return checkAvailability(null, email).isEmailTaken();
     }
     
     // Get Laundry Staffs
@@ -139,11 +158,104 @@ public class UserModel {
         return list;
     }
 
+    // ===== CUSTOMER SEGMENTS (Broadcast) =====
+    // activeDays = 0 means all customers, otherwise only customers
+    // with at least one transaction in the last activeDays days
+    private static String customerSegmentFilter(int activeDays) {
+        String filter = "UserRole = 'Customer'";
+        if (activeDays > 0) {
+            filter += " AND EXISTS (SELECT 1 FROM Transactions t WHERE t.CustomerID = Users.UserID" +
+                      " AND t.TransactionDate >= NOW() - INTERVAL " + activeDays + " DAY)";
+        }
+        return filter;
+    }
+    
+    // Count customers in a segment (for progress reporting)
+    public int countCustomers(int activeDays) {
+        String query = "SELECT COUNT(*) FROM Users WHERE " + customerSegmentFilter(activeDays);
+        
+        // Own statement: this runs on a background task while the UI keeps querying
+        try (PreparedStatement ps = db.prepareStatement(query);
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) return rs.getInt(1);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+    
+    // Next chunk of customer IDs after lastID (keyset over the primary key,
+    // so recipients are streamed in chunks without holding a cursor open)
+    public List<Integer> getCustomerIDs(int activeDays, int lastID, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        String query =
+            "SELECT UserID FROM Users WHERE " + customerSegmentFilter(activeDays) +
+            " AND UserID > ? ORDER BY UserID LIMIT ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            ps.setInt(1, lastID);
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getInt("UserID"));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    // ===== USER SUMMARIES BY ID (used by UserCache) =====
+    // One IN (...) query for the whole list
+    public List<UserSummary> getUserSummaries(List<Integer> userIDs) {
+        List<UserSummary> list = new ArrayList<>();
+        if (userIDs.isEmpty()) return list;
+        
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < userIDs.size(); i++) in.append(i == 0 ? "?" : ", ?");
+        String query = "SELECT UserID, UserName, UserRole FROM Users WHERE UserID IN (" + in + ")";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            for (int i = 0; i < userIDs.size(); i++) ps.setInt(i + 1, userIDs.get(i));
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new UserSummary(
+                        rs.getInt("UserID"),
+                        rs.getString("UserName"),
+                        rs.getString("UserRole")
+                    ));
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    // ===== LOOKUP BY NAME (unique UserName index) =====
+    // Returns null when no user has this name
+    public Integer getUserIDByName(String userName) {
+        try (PreparedStatement ps = db.prepareStatement("SELECT UserID FROM Users WHERE UserName = ?")) {
+            ps.setString(1, userName);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt("UserID");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     // ===== SAVE USER =====
-    public void save() {
+    // Stores the generated UserID back into this object.
+    // Returns false when no row was written (e.g. username / email already taken).
+    public boolean save() {
         String query = "INSERT INTO Users (UserName, UserEmail, UserPassword, UserGender, UserDOB, UserRole) VALUES (?, ?, ?, ?, ?, ?)";
         try {
-            PreparedStatement ps = db.prepareStatement(query);
+            // Never store the plaintext password
+            userPassword = PasswordHasher.hash(userPassword);
+            
+            PreparedStatement ps = db.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
             ps.setString(1, userName);
             ps.setString(2, userEmail);
             ps.setString(3, userPassword);
@@ -151,24 +263,38 @@ public class UserModel {
             ps.setString(5, userDOB);
             ps.setString(6, userRole);
             ps.executeUpdate();
+            
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (!keys.next()) return false;
+                userID = keys.getInt(1);
+            }
+            
+            // Make sure no stale entry survives for this ID
+            UserCache.getInstance().invalidate(userID);
+            
+            // Username / email are now taken
+            CredentialBloomFilter.getInstance().addUsername(userName);
+            CredentialBloomFilter.getInstance().addEmail(userEmail);
+            return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            e.printStackTrace();	// Duplicate-key errors from the unique UserName / UserEmail keys end here
         }
+        return false;
     }
     
     // === Getting Log In Accounts Data ===
+    // Fetch by (unique, indexed) username, then verify the password hash in Java
     public UserModel getLoginUser(String username, String password) {
         UserModel user = null;
-        String query = "SELECT * FROM Users WHERE UserName = ? AND UserPassword = ?";
+        String query = "SELECT * FROM Users WHERE UserName = ?";
 
         try {
             PreparedStatement ps = db.prepareStatement(query);
             ps.setString(1, username);
-            ps.setString(2, password);
             
             ResultSet rs = ps.executeQuery();
 
-            if (rs.next()) {
+            if (rs.next() && PasswordHasher.verify(password, rs.getString("UserPassword"))) {
                 user = new UserModel(
                     rs.getInt("UserID"),
                     rs.getString("UserName"),
@@ -178,12 +304,31 @@ public class UserModel {
                     rs.getString("UserDOB"),
                     rs.getString("UserRole")
                 );
+                
+                // Plaintext (older rows) or outdated work factor => upgrade now
+                if (PasswordHasher.needsRehash(user.getUserPassword())) {
+                    user.rehashPassword(password);
+                }
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
         return user;
     }
+    
+    // Store a new hash of the (already verified) password
+    private void rehashPassword(String password) {
+        String query = "UPDATE Users SET UserPassword = ? WHERE UserID = ?";
+        
+        try (PreparedStatement ps = db.prepareStatement(query)) {
+            userPassword = PasswordHasher.hash(password);
+            ps.setString(1, userPassword);
+            ps.setInt(2, userID);
+            ps.executeUpdate();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 
     // ===== Getters =====
     public int getUserID() { return userID; }
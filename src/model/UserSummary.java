@@ -0,0 +1,28 @@
+package model;
+
+/**
+ * UserSummary
+ * -----------
+ * Small read-only view of a user (ID, name, role) used for name resolution.
+ *
+ * Notes:
+ * - Held by UserCache, so it deliberately carries no email, password or DOB
+ */
+
+public class UserSummary {
+	
+	private final int userID;
+	private final String userName;
+	private final String userRole;
+	
+	public UserSummary(int userID, String userName, String userRole) {
+		this.userID = userID;
+		this.userName = userName;
+		this.userRole = userRole;
+	}
+	
+	// Getters
+	public int getUserID() { return userID; }
+	public String getUserName() { return userName; }
+	public String getUserRole() { return userRole; }
+}
@@ -1,19 +1,49 @@
 package view;
 
 import controller.AdminController;
+import controller.LoginController;
+import controller.TransactionImporter;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import main.Main;
+import model.AnalyticsReport;
+import model.RollupTotal;
 import model.ServiceModel;
-import model.TransactionModel;
+import model.StaffStats;
+import model.TransactionIndex;
+import model.TransactionSearchCriteria;
+import model.TransactionSummary;
 import model.UserModel;
 
+import java.io.File;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * AdminView
@@ -26,6 +56,12 @@ import java.util.Optional;
  *   - Transactions
  *   - Services
  *   - Employees
+ *   - Broadcast messages
+ *   - Transaction search (server-side, paged)
+ *   - Reports (CSV export / import)
+ *   - Revenue & volume (daily rollups)
+ *   - Analytics (full history)
+ *   - Staff performance (live)
  * - Handle UI interactions (button clicks, table selection)
  * 
  * Notes (MVC):
@@ -41,6 +77,11 @@ public class AdminView {
     private AdminController controller;
     private BorderPane root;
     
+    // Sections are built once on first use and reused for the session,
+    // re-showing one only reloads its data
+    private final Map<String, VBox> sections = new HashMap<>();
+    private final Map<String, Runnable> refreshers = new HashMap<>();
+    
     // Set the Controller to AdminController and the current user to this
     public AdminView(Stage stage, UserModel adminUser) {
         this.stage = stage;
@@ -49,7 +90,7 @@ public class AdminView {
 
         root = new BorderPane();
         root.setLeft(createSidebar());
-        root.setCenter(createTransactionSection()); // Default Page
+        showSection("transactions", this::createTransactionSection); // Default Page
 
         Scene scene = new Scene(root, Main.WIDTH, Main.HEIGHT);
         stage.setScene(scene);
@@ -60,7 +101,7 @@ public class AdminView {
     // ===== SIDEBAR =====
     // Contains nav buttons, handles page switching inside the same scene
     private VBox createSidebar() {
-        VBox sidebar = new VBox(15);
+        VBox sidebar = new VBox(8);	// Tighter spacing so every section fits the fixed window height
         sidebar.setPadding(new Insets(20));
         sidebar.setPrefWidth(220);
         sidebar.setStyle("-fx-background-color: #2c3e50;");
@@ -71,12 +112,28 @@ public class AdminView {
         Button btnTrans = createNavButton("Manage Transactions");
         Button btnServ = createNavButton("Manage Services");
         Button btnEmp = createNavButton("Manage Employees");
+        Button btnBroadcast = createNavButton("Broadcast Message");
+        Button btnSearch = createNavButton("Search Transactions");
+        Button btnReports = createNavButton("Reports");
+        Button btnRevenue = createNavButton("Revenue & Volume");
+        Button btnAnalytics = createNavButton("Analytics");
+        Button btnPerformance = createNavButton("Staff Performance");
+        Button btnLock = createNavButton("Lock Terminal");
         Button btnLogout = createNavButton("Log Out");
 
-        btnTrans.setOnAction(e -> root.setCenter(createTransactionSection()));
-        btnServ.setOnAction(e -> root.setCenter(createServiceSection()));
-        btnEmp.setOnAction(e -> root.setCenter(createEmployeeSection()));
+        btnTrans.setOnAction(e -> showSection("transactions", this::createTransactionSection));
+        btnServ.setOnAction(e -> showSection("services", this::createServiceSection));
+        btnEmp.setOnAction(e -> showSection("employees", this::createEmployeeSection));
+        btnBroadcast.setOnAction(e -> showSection("broadcast", this::createBroadcastSection));
+        btnSearch.setOnAction(e -> showSection("search", this::createSearchSection));
+        btnReports.setOnAction(e -> showSection("reports", this::createReportSection));
+        btnRevenue.setOnAction(e -> showSection("revenue", this::createRevenueSection));
+        btnAnalytics.setOnAction(e -> showSection("analytics", this::createAnalyticsSection));
+        btnPerformance.setOnAction(e -> showSection("staffPerformance", this::createStaffPerformanceSection));
         
+        // Lock keeps the session, only hides the dashboard
+        btnLock.setOnAction(e -> LockScreen.lock(stage));
+
         // Logout Confirmation
         btnLogout.setOnAction(e -> {
             Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -86,13 +143,26 @@ public class AdminView {
 
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                new LoginView(stage);
+                new LoginController().logout();
+                LoginView.show(stage);
             }
         });
-        sidebar.getChildren().addAll(lblTitle, new Separator(), btnTrans, btnServ, btnEmp, new Separator(), btnLogout);
+        sidebar.getChildren().addAll(lblTitle, new Separator(), btnTrans, btnSearch, btnServ, btnEmp, btnBroadcast, btnReports, btnRevenue, btnAnalytics, btnPerformance, new Separator(), btnLock, btnLogout);
         return sidebar;
     }
 
+    // Show a cached section (build it on first use, otherwise just refresh its data)
+    private void showSection(String key, Supplier<VBox> builder) {
+        VBox section = sections.get(key);
+        if (section == null) {
+            section = builder.get();
+            sections.put(key, section);
+        } else if (refreshers.containsKey(key)) {
+            refreshers.get(key).run();
+        }
+        root.setCenter(section);
+    }
+
     private Button createNavButton(String text) {
         Button btn = new Button(text);
         btn.setMaxWidth(Double.MAX_VALUE);
@@ -109,39 +179,137 @@ public class AdminView {
         Label title = new Label("All Transactions");
         title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
 
-        // Filter Controls
+        // Filter Controls (answered in memory by TransactionIndex, no query per change)
         ComboBox<String> cmbFilter = new ComboBox<>();
-        cmbFilter.getItems().addAll("All", "Finished");
+        cmbFilter.getItems().addAll("All", "Pending", "Finished");
         cmbFilter.getSelectionModel().selectFirst();
 
+        ComboBox<String> cmbMonth = new ComboBox<>();
+        cmbMonth.getItems().add("All Months");
+        cmbMonth.getSelectionModel().selectFirst();
+
+        ComboBox<String> cmbCustomer = new ComboBox<>();
+        cmbCustomer.getItems().add("All Customers");
+        cmbCustomer.getSelectionModel().selectFirst();
+
+        ComboBox<String> cmbService = new ComboBox<>();
+        cmbService.getItems().add("All Services");
+        cmbService.getSelectionModel().selectFirst();
+
+        TextField txtSearch = new TextField();
+        txtSearch.setPromptText("Search customer, service, notes, date...");
+        txtSearch.setPrefWidth(260);
+
+        Label lblCount = new Label();
+        Button btnReload = new Button("Reload");
+
         Button btnNotify = new Button("Send Notification");
         
-        // Display transaction ID, Cust, Status
-        TableView<TransactionModel> table = new TableView<>();
+        // Display transaction ID, Customer, Service, Price, Staff, Status (names come joined from the query)
+        TableView<TransactionSummary> table = new TableView<>();
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);	// Resize Collumns
 
-        TableColumn<TransactionModel, Integer> colID = new TableColumn<>("ID");
-        colID.setCellValueFactory(new PropertyValueFactory<>("transactionID"));
+        TableColumn<TransactionSummary, Integer> colID = new TableColumn<>("ID");
+        colID.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionID));
         
-        TableColumn<TransactionModel, Integer> colCust = new TableColumn<>("Customer ID");
-        colCust.setCellValueFactory(new PropertyValueFactory<>("customerID"));
+        TableColumn<TransactionSummary, String> colCust = new TableColumn<>("Customer");
+        colCust.setCellValueFactory(CellValues.of(TransactionSummary::getCustomerName));
+        
+        TableColumn<TransactionSummary, String> colService = new TableColumn<>("Service");
+        colService.setCellValueFactory(CellValues.of(TransactionSummary::getServiceName));
+        
+        TableColumn<TransactionSummary, Double> colPrice = new TableColumn<>("Total Price");
+        colPrice.setCellValueFactory(CellValues.of(TransactionSummary::getTotalPrice));
+        
+        TableColumn<TransactionSummary, String> colStaff = new TableColumn<>("Staff");
+        colStaff.setCellValueFactory(CellValues.of(TransactionSummary::getStaffName));
 
-        TableColumn<TransactionModel, String> colStatus = new TableColumn<>("Status");
-        colStatus.setCellValueFactory(new PropertyValueFactory<>("transactionStatus"));
+        // Receptionist names resolved once per load (cells only read this map)
+        Map<Integer, String> receptionistNames = new HashMap<>();
+        TableColumn<TransactionSummary, String> colAssignedBy = new TableColumn<>("Assigned By");
+        colAssignedBy.setCellValueFactory(CellValues.of(t -> receptionistNames.getOrDefault(t.getReceptionistID(), "-")));
+
+        TableColumn<TransactionSummary, String> colStatus = new TableColumn<>("Status");
+        colStatus.setCellValueFactory(c -> c.getValue().transactionStatusProperty());
 
         table.getColumns().add(colID);
         table.getColumns().add(colCust);
+        table.getColumns().add(colService);
+        table.getColumns().add(colPrice);
+        table.getColumns().add(colStaff);
+        table.getColumns().add(colAssignedBy);
         table.getColumns().add(colStatus);
 
+        // Loaded rows -> filtered view -> sorted view (column header sorting stays in memory)
+        ObservableList<TransactionSummary> rows = FXCollections.observableArrayList();
+        FilteredList<TransactionSummary> filtered = new FilteredList<>(rows);
+        SortedList<TransactionSummary> sorted = new SortedList<>(filtered);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sorted);
+
+        TransactionIndex[] index = { new TransactionIndex(List.of()) };
+        Map<String, Integer> customerIDs = new LinkedHashMap<>();	// Sorted by name (combo order)
+        Map<String, Integer> serviceIDs = new LinkedHashMap<>();
+
+        Runnable applyFilter = () -> {
+            String status = "All".equals(cmbFilter.getValue()) ? null : cmbFilter.getValue();
+            String month = "All Months".equals(cmbMonth.getValue()) ? null : cmbMonth.getValue();
+            TransactionIndex current = index[0];
+            BitSet matches = current.query(status, customerIDs.get(cmbCustomer.getValue()), serviceIDs.get(cmbService.getValue()),
+                    month, txtSearch.getText());
+            filtered.setPredicate(t -> {
+                int position = current.positionOf(t);
+                return position >= 0 && matches.get(position);	// Rows from another load are not in this index
+            });
+            lblCount.setText(matches.cardinality() + " of " + current.size() + " transactions"
+                    + (current.size() == AdminController.TRANSACTION_WORKING_SET
+                        ? " (only the newest " + current.size() + " are loaded; use Search Transactions for older ones)" : ""));
+        };
+
+        // Reload from the database and rebuild the indexes (the only round trip)
+        Runnable reload = () -> {
+            List<TransactionSummary> loaded = controller.getTransactionWorkingSet();
+            receptionistNames.clear();
+            receptionistNames.putAll(controller.preloadUserNames(loaded));
+
+            // Drop the old predicate first: it only knows the positions of the previous load
+            filtered.setPredicate(null);
+            index[0] = new TransactionIndex(loaded);
+
+            String month = cmbMonth.getValue();
+            cmbMonth.getItems().setAll("All Months");
+            cmbMonth.getItems().addAll(index[0].getMonths());
+            cmbMonth.setValue(cmbMonth.getItems().contains(month) ? month : "All Months");
+
+            String customer = cmbCustomer.getValue();
+            customerIDs.clear();
+            customerIDs.putAll(index[0].getCustomers());
+            cmbCustomer.getItems().setAll("All Customers");
+            cmbCustomer.getItems().addAll(customerIDs.keySet());
+            cmbCustomer.setValue(customerIDs.containsKey(customer) ? customer : "All Customers");
+
+            String service = cmbService.getValue();
+            serviceIDs.clear();
+            serviceIDs.putAll(index[0].getServices());
+            cmbService.getItems().setAll("All Services");
+            cmbService.getItems().addAll(serviceIDs.keySet());
+            cmbService.setValue(serviceIDs.containsKey(service) ? service : "All Services");
+
+            rows.setAll(loaded);
+            applyFilter.run();
+        };
+
         // Actions
-        cmbFilter.setOnAction(e -> {
-            String filter = cmbFilter.getValue();
-            table.getItems().setAll(controller.getTransactions(filter));
-        });
+        cmbFilter.setOnAction(e -> applyFilter.run());
+        cmbMonth.setOnAction(e -> applyFilter.run());
+        cmbCustomer.setOnAction(e -> applyFilter.run());
+        cmbService.setOnAction(e -> applyFilter.run());
+        txtSearch.textProperty().addListener((obs, oldText, newText) -> applyFilter.run());
+        btnReload.setOnAction(e -> reload.run());
 
         // Admin sends notification for Finished transactions
         btnNotify.setOnAction(e -> {
-            TransactionModel selected = table.getSelectionModel().getSelectedItem();
+            TransactionSummary selected = table.getSelectionModel().getSelectedItem();
             
             // Check if a row is selected
             if (selected == null) {
@@ -159,16 +327,21 @@ public class AdminView {
             controller.sendCompletionNotification(selected.getTransactionID(), selected.getCustomerID());
             
             // 4. Show success feedback
-            showAlert("Success", "Notification sent to Customer ID: " + selected.getCustomerID());
+            showAlert("Success", "Notification sent to " + selected.getCustomerName() + " (Customer ID: " + selected.getCustomerID() + ")");
         });
 
         // Initial Load
-        cmbFilter.fireEvent(new javafx.event.ActionEvent());
+        // Coming back to this section only re-applies the filter; fresh rows come from Reload
+        refreshers.put("transactions", applyFilter);
+        reload.run();
 
-        HBox tools = new HBox(10, new Label("Filter:"), cmbFilter, new Separator(), btnNotify);
+        HBox tools = new HBox(10, new Label("Filter:"), cmbFilter, cmbMonth, cmbCustomer, cmbService, txtSearch, btnReload, new Separator(), btnNotify);
         tools.setAlignment(Pos.CENTER_LEFT);
 
-        VBox content = new VBox(15, title, tools, table);
+        // Overdue orders (due-date timers run in memory)
+        HBox overdueBanner = OverdueBanner.create(controller::getOverdueAlerts, controller::getUserName);
+
+        VBox content = new VBox(15, overdueBanner, title, tools, lblCount, table);
         content.setPadding(new Insets(30));
         return content;
     }
@@ -185,13 +358,13 @@ public class AdminView {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
         
         TableColumn<ServiceModel, String> colName = new TableColumn<>("Name");
-        colName.setCellValueFactory(new PropertyValueFactory<>("serviceName"));
+        colName.setCellValueFactory(CellValues.of(ServiceModel::getServiceName));
         
         TableColumn<ServiceModel, Integer> colPrice = new TableColumn<>("Price");
-        colPrice.setCellValueFactory(new PropertyValueFactory<>("servicePrice"));
+        colPrice.setCellValueFactory(CellValues.of(ServiceModel::getServicePrice));
         
         TableColumn<ServiceModel, Integer> colDur = new TableColumn<>("Duration (Days)");
-        colDur.setCellValueFactory(new PropertyValueFactory<>("serviceDuration"));
+        colDur.setCellValueFactory(CellValues.of(ServiceModel::getServiceDuration));
 
         table.getColumns().add(colName);
         table.getColumns().add(colPrice);
@@ -241,6 +414,7 @@ public class AdminView {
             }
         });
 
+        refreshers.put("services", btnRefresh::fire);
         btnRefresh.fire(); // Load data
 
         HBox buttons = new HBox(10, btnAdd, btnDelete, btnRefresh);
@@ -261,10 +435,10 @@ public class AdminView {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
 
         TableColumn<UserModel, String> colName = new TableColumn<>("Name");
-        colName.setCellValueFactory(new PropertyValueFactory<>("userName"));
+        colName.setCellValueFactory(CellValues.of(UserModel::getUserName));
         
         TableColumn<UserModel, String> colRole = new TableColumn<>("Role");
-        colRole.setCellValueFactory(new PropertyValueFactory<>("userRole"));
+        colRole.setCellValueFactory(CellValues.of(UserModel::getUserRole));
 
         table.getColumns().add(colName);
         table.getColumns().add(colRole);
@@ -276,6 +450,7 @@ public class AdminView {
         
         btnAdd.setOnAction(e -> showAddEmployeePopup(btnRefresh));
 
+        refreshers.put("employees", btnRefresh::fire);
         btnRefresh.fire();
 
         HBox buttons = new HBox(10, btnAdd, btnRefresh);
@@ -284,6 +459,684 @@ public class AdminView {
         return content;
     }
 
+    // ====================
+    // 4. BROADCAST MESSAGE
+    // ====================
+    private VBox createBroadcastSection() {
+        Label title = new Label("Broadcast Message");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
+        
+        // Message and target segment
+        TextArea txtMessage = new TextArea();
+        txtMessage.setPromptText("Message to customers (max 255 chars)");
+        txtMessage.setPrefHeight(100);
+        txtMessage.setWrapText(true);
+        
+        ComboBox<String> cmbSegment = new ComboBox<>();
+        cmbSegment.getItems().addAll("All Customers", "Active in last 30 days", "Active in last 90 days");
+        cmbSegment.getSelectionModel().selectFirst();
+        
+        Button btnSend = new Button("Send Broadcast");
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(300);
+        Label lblProgress = new Label();
+        
+        btnSend.setOnAction(e -> {
+            int[] activeDays = { 0, 30, 90 };
+            int days = activeDays[cmbSegment.getSelectionModel().getSelectedIndex()];
+            String message = txtMessage.getText();
+            
+            // Run in the background so the UI stays responsive, report progress as chunks are written
+            Task<String> task = new Task<>() {
+                @Override
+                protected String call() {
+                    long start = System.nanoTime();
+                    String result = controller.broadcastNotification(message, days, (sent, total) -> {
+                        updateProgress(sent, Math.max(total, 1));
+                        double seconds = (System.nanoTime() - start) / 1e9;
+                        updateMessage(String.format("%d / %d sent (%.0f rows/s)", sent, total, seconds > 0 ? sent / seconds : 0));
+                    });
+                    return result;
+                }
+            };
+            
+            progressBar.progressProperty().bind(task.progressProperty());
+            lblProgress.textProperty().bind(task.messageProperty());
+            btnSend.setDisable(true);
+            
+            task.setOnSucceeded(ev -> {
+                btnSend.setDisable(false);
+                String result = task.getValue();
+                if ("Success".equals(result)) {
+                    showAlert("Success", "Broadcast sent.");
+                    txtMessage.clear();
+                } else {
+                    showAlert("Error", result);
+                }
+            });
+            task.setOnFailed(ev -> {
+                btnSend.setDisable(false);
+                showAlert("Error", "Broadcast failed: " + task.getException().getMessage());
+            });
+            
+            Thread worker = new Thread(task, "broadcast");
+            worker.setDaemon(true);
+            worker.start();
+        });
+        
+        HBox tools = new HBox(10, new Label("Send to:"), cmbSegment, btnSend);
+        tools.setAlignment(Pos.CENTER_LEFT);
+        
+        VBox content = new VBox(15, title, txtMessage, tools, progressBar, lblProgress);
+        content.setPadding(new Insets(30));
+        return content;
+    }
+
+    // ======================
+    // 5. SEARCH TRANSACTIONS
+    // ======================
+    private VBox createSearchSection() {
+        Label title = new Label("Search Transactions");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
+
+        // Criteria (customer / service / staff, a date range or one status with a date drive the index; weight and notes narrow further)
+        TextField txtCustomer = new TextField();
+        txtCustomer.setPromptText("Customer username");
+
+        List<ServiceModel> services = controller.getAllServices();
+        ComboBox<String> cmbService = new ComboBox<>();
+        cmbService.getItems().add("Any Service");
+        for (ServiceModel s : services) cmbService.getItems().add(s.getServiceName());
+        cmbService.getSelectionModel().selectFirst();
+
+        List<UserModel> staff = new ArrayList<>();
+        for (UserModel u : controller.getAllEmployees()) {
+            if ("Laundry Staff".equalsIgnoreCase(u.getUserRole())) staff.add(u);
+        }
+        ComboBox<String> cmbStaff = new ComboBox<>();
+        cmbStaff.getItems().add("Any Staff");
+        for (UserModel u : staff) cmbStaff.getItems().add(u.getUserName());
+        cmbStaff.getSelectionModel().selectFirst();
+
+        CheckBox chkPending = new CheckBox("Pending");
+        CheckBox chkFinished = new CheckBox("Finished");
+
+        DatePicker dpFrom = new DatePicker();
+        dpFrom.setPromptText("From");
+        DatePicker dpTo = new DatePicker();
+        dpTo.setPromptText("To");
+
+        TextField txtMinWeight = new TextField();
+        txtMinWeight.setPromptText("Min kg");
+        txtMinWeight.setPrefWidth(70);
+        TextField txtMaxWeight = new TextField();
+        txtMaxWeight.setPromptText("Max kg");
+        txtMaxWeight.setPrefWidth(70);
+
+        TextField txtNotes = new TextField();
+        txtNotes.setPromptText("Notes contain...");
+
+        // Full-text search over notes (ranked, independent of the criteria above)
+        TextField txtFullText = new TextField();
+        txtFullText.setPromptText("e.g. red shirt, no bleach");
+        txtFullText.setPrefWidth(260);
+        Button btnFullText = new Button("Search Notes");
+
+        Button btnSearch = new Button("Search");
+        Button btnMore = new Button("Load More");
+        btnMore.setDisable(true);
+        Label lblCount = new Label();
+
+        // Results
+        TableView<TransactionSummary> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+
+        TableColumn<TransactionSummary, Integer> colID = new TableColumn<>("ID");
+        colID.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionID));
+
+        TableColumn<TransactionSummary, String> colDate = new TableColumn<>("Date");
+        colDate.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionDate));
+
+        TableColumn<TransactionSummary, String> colCust = new TableColumn<>("Customer");
+        colCust.setCellValueFactory(CellValues.of(TransactionSummary::getCustomerName));
+
+        TableColumn<TransactionSummary, String> colService = new TableColumn<>("Service");
+        colService.setCellValueFactory(CellValues.of(TransactionSummary::getServiceName));
+
+        TableColumn<TransactionSummary, Double> colWeight = new TableColumn<>("Weight (kg)");
+        colWeight.setCellValueFactory(CellValues.of(TransactionSummary::getTotalWeight));
+
+        TableColumn<TransactionSummary, String> colStaff = new TableColumn<>("Staff");
+        colStaff.setCellValueFactory(CellValues.of(TransactionSummary::getStaffName));
+
+        TableColumn<TransactionSummary, String> colStatus = new TableColumn<>("Status");
+        colStatus.setCellValueFactory(c -> c.getValue().transactionStatusProperty());
+
+        TableColumn<TransactionSummary, String> colNotes = new TableColumn<>("Notes");
+        colNotes.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionNotes));
+
+        table.getColumns().add(colID);
+        table.getColumns().add(colDate);
+        table.getColumns().add(colCust);
+        table.getColumns().add(colService);
+        table.getColumns().add(colWeight);
+        table.getColumns().add(colStaff);
+        table.getColumns().add(colStatus);
+        table.getColumns().add(colNotes);
+
+        // Current search, reused by "Load More" (criteria => keyset paging, full text => ranked offset paging)
+        TransactionSearchCriteria[] current = { null };
+        String[] fullText = { null };
+
+        Runnable loadPage = () -> {
+            List<TransactionSummary> items = table.getItems();
+            TransactionSummary cursor = items.isEmpty() ? null : items.get(items.size() - 1);
+
+            List<TransactionSummary> page = new ArrayList<>();
+            String result = fullText[0] != null
+                ? controller.searchTransactionNotes(fullText[0], items.size(), page)
+                : controller.searchTransactions(current[0], cursor, page);
+            if (!"Success".equals(result)) {
+                showAlert("Error", result);
+                return;
+            }
+            items.addAll(page);
+            btnMore.setDisable(page.size() < AdminController.SEARCH_PAGE_SIZE);
+            lblCount.setText(items.size() + " result(s)" + (btnMore.isDisabled() ? "" : ", more available"));
+        };
+
+        btnSearch.setOnAction(e -> {
+            TransactionSearchCriteria criteria = new TransactionSearchCriteria();
+
+            if (!txtCustomer.getText().isBlank()) {
+                Integer customerID = controller.findUserID(txtCustomer.getText());
+                if (customerID == null) {
+                    showAlert("Error", "Customer not found!");
+                    return;
+                }
+                criteria.setCustomerID(customerID);
+            }
+            int serviceIndex = cmbService.getSelectionModel().getSelectedIndex();
+            if (serviceIndex > 0) criteria.setServiceID(services.get(serviceIndex - 1).getServiceID());
+            int staffIndex = cmbStaff.getSelectionModel().getSelectedIndex();
+            if (staffIndex > 0) criteria.setStaffID(staff.get(staffIndex - 1).getUserID());
+
+            Set<String> statuses = new HashSet<>();
+            if (chkPending.isSelected()) statuses.add("Pending");
+            if (chkFinished.isSelected()) statuses.add("Finished");
+            criteria.setStatuses(statuses);
+
+            criteria.setFromDate(dpFrom.getValue());
+            criteria.setToDate(dpTo.getValue());
+            criteria.setNotesText(txtNotes.getText());
+
+            try {
+                if (!txtMinWeight.getText().isBlank()) criteria.setMinWeight(Double.parseDouble(txtMinWeight.getText().trim()));
+                if (!txtMaxWeight.getText().isBlank()) criteria.setMaxWeight(Double.parseDouble(txtMaxWeight.getText().trim()));
+            } catch (NumberFormatException ex) {
+                showAlert("Error", "Weight must be a number!");
+                return;
+            }
+
+            current[0] = criteria;
+            fullText[0] = null;
+            table.getItems().clear();
+            loadPage.run();
+        });
+
+        btnFullText.setOnAction(e -> {
+            fullText[0] = txtFullText.getText();
+            table.getItems().clear();
+            loadPage.run();
+        });
+        txtFullText.setOnAction(e -> btnFullText.fire());
+
+        btnMore.setOnAction(e -> loadPage.run());
+
+        HBox row1 = new HBox(10, new Label("Customer:"), txtCustomer, cmbService, cmbStaff, chkPending, chkFinished);
+        row1.setAlignment(Pos.CENTER_LEFT);
+        HBox row2 = new HBox(10, new Label("Date:"), dpFrom, dpTo, new Label("Weight:"), txtMinWeight, txtMaxWeight, txtNotes);
+        row2.setAlignment(Pos.CENTER_LEFT);
+        HBox row3 = new HBox(10, btnSearch, new Separator(), new Label("Full text:"), txtFullText, btnFullText);
+        row3.setAlignment(Pos.CENTER_LEFT);
+        HBox row4 = new HBox(10, btnMore, lblCount);
+        row4.setAlignment(Pos.CENTER_LEFT);
+
+        VBox content = new VBox(15, title, row1, row2, row3, row4, table);
+        content.setPadding(new Insets(30));
+        return content;
+    }
+
+    // ==========
+    // 6. REPORTS
+    // ==========
+    private VBox createReportSection() {
+        Label title = new Label("Reports");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
+
+        // ===== CSV EXPORT (streamed in the background) =====
+        Label lblExport = new Label("Export Transactions (CSV)");
+        lblExport.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+
+        // Default range: last full month
+        LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+        DatePicker dpFrom = new DatePicker(firstOfMonth.minusMonths(1));
+        DatePicker dpTo = new DatePicker(firstOfMonth.minusDays(1));
+        CheckBox chkGzip = new CheckBox("Compress (gzip)");
+
+        Button btnExport = new Button("Export...");
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(300);
+        Label lblProgress = new Label();
+
+        btnExport.setOnAction(e -> {
+            LocalDate from = dpFrom.getValue();
+            LocalDate to = dpTo.getValue();
+            boolean gzip = chkGzip.isSelected();
+
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Export Transactions");
+            chooser.setInitialFileName("transactions-" + (from == null ? "all" : from.toString().substring(0, 7))
+                    + (gzip ? ".csv.gz" : ".csv"));
+            File file = chooser.showSaveDialog(stage);
+            if (file == null) return;
+
+            Task<String> task = new Task<>() {
+                @Override
+                protected String call() {
+                    long start = System.nanoTime();
+                    return controller.exportTransactions(file, from, to, gzip, (written, total) -> {
+                        updateProgress(written, Math.max(total, 1));
+                        double seconds = (System.nanoTime() - start) / 1e9;
+                        updateMessage(String.format("%d / %d rows (%.0f rows/s)", written, total, seconds > 0 ? written / seconds : 0));
+                    });
+                }
+            };
+
+            progressBar.progressProperty().bind(task.progressProperty());
+            lblProgress.textProperty().bind(task.messageProperty());
+            btnExport.setDisable(true);
+
+            task.setOnSucceeded(ev -> {
+                btnExport.setDisable(false);
+                String result = task.getValue();
+                if ("Success".equals(result)) {
+                    showAlert("Success", "Exported to " + file.getAbsolutePath());
+                } else {
+                    showAlert("Error", result);
+                }
+            });
+            task.setOnFailed(ev -> {
+                btnExport.setDisable(false);
+                showAlert("Error", "Export failed: " + task.getException().getMessage());
+            });
+
+            Thread worker = new Thread(task, "export");
+            worker.setDaemon(true);
+            worker.start();
+        });
+
+        HBox exportTools = new HBox(10, new Label("From:"), dpFrom, new Label("To:"), dpTo, chkGzip, btnExport);
+        exportTools.setAlignment(Pos.CENTER_LEFT);
+
+        // ===== CSV IMPORT (chunked, background) =====
+        Label lblImport = new Label("Import Transactions (CSV)");
+        lblImport.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        Label lblFormat = new Label("Columns: CustomerID, Service, TotalWeight, TransactionNotes, TransactionDate (optional), TransactionStatus (optional)");
+
+        Button btnImport = new Button("Import...");
+        ProgressBar importProgress = new ProgressBar(0);
+        importProgress.setPrefWidth(300);
+        Label lblImportProgress = new Label();
+
+        btnImport.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Import Transactions");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv", "*.csv.gz"));
+            File file = chooser.showOpenDialog(stage);
+            if (file == null) return;
+
+            // Rejected rows go next to the source file
+            File errors = new File(file.getParentFile(), file.getName().replaceAll("(\\.csv)?(\\.gz)?$", "") + "-errors.csv");
+            TransactionImporter importer = new TransactionImporter(file, errors);
+
+            Task<String> task = new Task<>() {
+                @Override
+                protected String call() {
+                    return controller.importTransactions(importer, (read, total) -> {
+                        updateProgress(read, Math.max(total, 1));
+                        updateMessage(String.format("%d imported, %d rejected", importer.getImported(), importer.getRejected()));
+                    });
+                }
+            };
+
+            importProgress.progressProperty().bind(task.progressProperty());
+            lblImportProgress.textProperty().bind(task.messageProperty());
+            btnImport.setDisable(true);
+
+            task.setOnSucceeded(ev -> {
+                btnImport.setDisable(false);
+                String result = task.getValue();
+                if ("Success".equals(result)) {
+                    showAlert("Import Finished", String.format("%d imported, %d rejected (%.0f rows/s).%s",
+                            importer.getImported(), importer.getRejected(), importer.getRowsPerSecond(),
+                            importer.getRejected() > 0 ? "\nRejected rows: " + errors.getAbsolutePath() : ""));
+                } else {
+                    showAlert("Error", result);
+                }
+            });
+            task.setOnFailed(ev -> {
+                btnImport.setDisable(false);
+                showAlert("Error", "Import failed: " + task.getException().getMessage());
+            });
+
+            Thread worker = new Thread(task, "import");
+            worker.setDaemon(true);
+            worker.start();
+        });
+
+        HBox importTools = new HBox(10, btnImport, lblFormat);
+        importTools.setAlignment(Pos.CENTER_LEFT);
+
+        VBox content = new VBox(15, title, lblExport, exportTools, progressBar, lblProgress,
+                new Separator(), lblImport, importTools, importProgress, lblImportProgress);
+        content.setPadding(new Insets(30));
+        return content;
+    }
+
+    // ==================
+    // 7. REVENUE REPORTS
+    // ==================
+    private VBox createRevenueSection() {
+        Label title = new Label("Revenue & Volume");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
+
+        // Period: one month (per-day breakdown) or a whole year (per-month breakdown)
+        int thisYear = LocalDate.now().getYear();
+        ComboBox<Integer> cmbYear = new ComboBox<>();
+        for (int y = thisYear; y >= thisYear - 4; y--) cmbYear.getItems().add(y);
+        cmbYear.setValue(thisYear);
+
+        ComboBox<String> cmbMonth = new ComboBox<>();
+        cmbMonth.getItems().add("Whole Year");
+        for (Month m : Month.values()) {
+            cmbMonth.getItems().add(m.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        }
+        cmbMonth.getSelectionModel().select(LocalDate.now().getMonthValue());
+
+        Label lblTotal = new Label();
+        lblTotal.setStyle("-fx-font-weight: bold;");
+
+        TableView<RollupTotal> byService = createRollupTable("Service");
+        TableView<RollupTotal> byStaff = createRollupTable("Staff (finished)");
+        TableView<RollupTotal> byPeriod = createRollupTable("Period");
+
+        // Reads rollups only; switching month / year does not touch Transactions
+        Runnable load = () -> {
+            int year = cmbYear.getValue();
+            int month = cmbMonth.getSelectionModel().getSelectedIndex();	// 0 = whole year
+            LocalDate from = month == 0 ? LocalDate.of(year, 1, 1) : LocalDate.of(year, month, 1);
+            LocalDate to = month == 0 ? LocalDate.of(year, 12, 31) : from.plusMonths(1).minusDays(1);
+
+            byService.getItems().setAll(controller.getServiceReport(from, to));
+            byStaff.getItems().setAll(controller.getStaffReport(from, to));
+            byPeriod.getItems().setAll(controller.getPeriodReport(from, to, month == 0));
+
+            int orders = 0;
+            double weight = 0, revenue = 0;
+            for (RollupTotal r : byService.getItems()) {
+                orders += r.getOrderCount();
+                weight += r.getTotalWeight();
+                revenue += r.getRevenue();
+            }
+            lblTotal.setText(String.format("Total: %d orders, %.1f kg, revenue %.0f", orders, weight, revenue));
+        };
+
+        cmbYear.setOnAction(e -> load.run());
+        cmbMonth.setOnAction(e -> load.run());
+
+        // Backfill: recompute every rollup from transaction history (background)
+        Button btnRebuild = new Button("Rebuild from History");
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(200);
+        progressBar.setVisible(false);
+
+        btnRebuild.setOnAction(e -> {
+            Task<String> task = new Task<>() {
+                @Override
+                protected String call() throws Exception {
+                    return controller.rebuildRollups((done, total) -> updateProgress(done, Math.max(total, 1)));
+                }
+            };
+            progressBar.progressProperty().bind(task.progressProperty());
+            progressBar.setVisible(true);
+            btnRebuild.setDisable(true);
+
+            task.setOnSucceeded(ev -> {
+                btnRebuild.setDisable(false);
+                progressBar.setVisible(false);
+                String result = task.getValue();
+                if ("Success".equals(result)) {
+                    load.run();
+                } else {
+                    showAlert("Error", result);
+                }
+            });
+            task.setOnFailed(ev -> {
+                btnRebuild.setDisable(false);
+                progressBar.setVisible(false);
+                showAlert("Error", "Rebuild failed: " + task.getException().getMessage());
+            });
+
+            Thread worker = new Thread(task, "rollup-rebuild");
+            worker.setDaemon(true);
+            worker.start();
+        });
+
+        refreshers.put("revenue", load);
+        load.run();
+
+        HBox tools = new HBox(10, new Label("Year:"), cmbYear, new Label("Month:"), cmbMonth, new Separator(), btnRebuild, progressBar);
+        tools.setAlignment(Pos.CENTER_LEFT);
+
+        HBox tables = new HBox(10, byService, byStaff, byPeriod);
+        for (TableView<RollupTotal> t : List.of(byService, byStaff, byPeriod)) HBox.setHgrow(t, Priority.ALWAYS);
+
+        VBox content = new VBox(15, title, tools, lblTotal, tables);
+        content.setPadding(new Insets(30));
+        return content;
+    }
+
+    // ============
+    // 8. ANALYTICS
+    // ============
+    private VBox createAnalyticsSection() {
+        Label title = new Label("Analytics");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
+
+        Button btnRun = new Button("Analyze Full History");
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(24, 24);
+        spinner.setVisible(false);
+        Label lblInfo = new Label("Loads every transaction once and computes the statistics on all cores.");
+
+        // Per service: orders, average kg, revenue
+        TableView<RollupTotal> byService = new TableView<>();
+        byService.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+
+        TableColumn<RollupTotal, String> colService = new TableColumn<>("Service");
+        colService.setCellValueFactory(CellValues.of(RollupTotal::getLabel));
+
+        TableColumn<RollupTotal, Integer> colOrders = new TableColumn<>("Orders");
+        colOrders.setCellValueFactory(CellValues.of(RollupTotal::getOrderCount));
+
+        TableColumn<RollupTotal, String> colAvg = new TableColumn<>("Avg Kg");
+        colAvg.setCellValueFactory(CellValues.of(r -> String.format("%.2f", r.getOrderCount() == 0 ? 0 : r.getTotalWeight() / r.getOrderCount())));
+
+        TableColumn<RollupTotal, String> colRevenue = new TableColumn<>("Revenue");
+        colRevenue.setCellValueFactory(CellValues.of(r -> String.format("%.0f", r.getRevenue())));
+
+        // Turnaround (assignment to finish), filled from the last report
+        AnalyticsReport[] last = { null };
+        TableColumn<RollupTotal, String> colP50 = new TableColumn<>("p50 Hours");
+        colP50.setCellValueFactory(CellValues.of(r -> hours(last[0] == null ? Double.NaN : last[0].getTurnaround(r.getLabel())[0])));
+
+        TableColumn<RollupTotal, String> colP90 = new TableColumn<>("p90 Hours");
+        colP90.setCellValueFactory(CellValues.of(r -> hours(last[0] == null ? Double.NaN : last[0].getTurnaround(r.getLabel())[1])));
+
+        byService.getColumns().add(colService);
+        byService.getColumns().add(colOrders);
+        byService.getColumns().add(colAvg);
+        byService.getColumns().add(colRevenue);
+        byService.getColumns().add(colP50);
+        byService.getColumns().add(colP90);
+
+        // Orders per hour of day
+        BarChart<String, Number> hoursChart = new BarChart<>(new CategoryAxis(), new NumberAxis());
+        hoursChart.setTitle("Orders by Hour");
+        hoursChart.setLegendVisible(false);
+        hoursChart.setAnimated(false);
+        Label lblBusiest = new Label();
+
+        btnRun.setOnAction(e -> {
+            Task<AnalyticsReport> task = new Task<>() {
+                @Override
+                protected AnalyticsReport call() {
+                    return controller.runAnalytics();
+                }
+            };
+            btnRun.setDisable(true);
+            spinner.setVisible(true);
+
+            task.setOnSucceeded(ev -> {
+                btnRun.setDisable(false);
+                spinner.setVisible(false);
+                AnalyticsReport report = task.getValue();
+                if (report == null) {
+                    showAlert("Error", "Analysis failed.");
+                    return;
+                }
+
+                last[0] = report;
+                byService.getItems().setAll(report.getServices());
+
+                XYChart.Series<String, Number> series = new XYChart.Series<>();
+                long[] hours = report.getHourCounts();
+                for (int h = 0; h < 24; h++) series.getData().add(new XYChart.Data<>(String.format("%02d", h), hours[h]));
+                hoursChart.getData().setAll(List.of(series));
+
+                List<Integer> busiest = report.getBusiestHours();
+                lblBusiest.setText(String.format("Busiest hours: %02d:00, %02d:00, %02d:00    Turnaround p50 %s h, p90 %s h",
+                        busiest.get(0), busiest.get(1), busiest.get(2), hours(report.getTurnaroundP50()), hours(report.getTurnaroundP90())));
+                lblInfo.setText(String.format("%d transactions (load %d ms, compute %d ms)",
+                        report.getRows(), report.getLoadMillis(), report.getComputeMillis()));
+            });
+            task.setOnFailed(ev -> {
+                btnRun.setDisable(false);
+                spinner.setVisible(false);
+                showAlert("Error", "Analysis failed: " + task.getException().getMessage());
+            });
+
+            Thread worker = new Thread(task, "analytics");
+            worker.setDaemon(true);
+            worker.start();
+        });
+
+        HBox tools = new HBox(10, btnRun, spinner, lblInfo);
+        tools.setAlignment(Pos.CENTER_LEFT);
+
+        HBox body = new HBox(10, byService, hoursChart);
+        HBox.setHgrow(byService, Priority.ALWAYS);
+        HBox.setHgrow(hoursChart, Priority.ALWAYS);
+
+        VBox content = new VBox(15, title, tools, lblBusiest, body);
+        content.setPadding(new Insets(30));
+        return content;
+    }
+
+    // ====================
+    // 9. STAFF PERFORMANCE
+    // ====================
+    private VBox createStaffPerformanceSection() {
+        Label title = new Label("Staff Performance");
+        title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
+        Label lblInfo = new Label("Rolling stats kept in memory, updated on every finished job.");
+
+        TableView<StaffStats> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+
+        TableColumn<StaffStats, String> colName = new TableColumn<>("Staff");
+        colName.setCellValueFactory(CellValues.of(StaffStats::getStaffName));
+
+        TableColumn<StaffStats, Integer> colOpen = new TableColumn<>("Open Jobs");
+        colOpen.setCellValueFactory(CellValues.of(StaffStats::getOpenJobs));
+
+        TableColumn<StaffStats, Integer> colJobs = new TableColumn<>("Finished (window)");
+        colJobs.setCellValueFactory(CellValues.of(StaffStats::getJobsInWindow));
+
+        TableColumn<StaffStats, String> colJobsHour = new TableColumn<>("Jobs / Hour");
+        colJobsHour.setCellValueFactory(CellValues.of(s -> String.format("%.2f", s.getJobsPerHour())));
+
+        TableColumn<StaffStats, String> colKgHour = new TableColumn<>("Kg / Hour");
+        colKgHour.setCellValueFactory(CellValues.of(s -> String.format("%.1f", s.getKgPerHour())));
+
+        TableColumn<StaffStats, String> colP50 = new TableColumn<>("p50 Turnaround (min)");
+        colP50.setCellValueFactory(CellValues.of(s -> Double.isNaN(s.getP50Minutes()) ? "-" : String.format("%.0f", s.getP50Minutes())));
+
+        TableColumn<StaffStats, String> colP90 = new TableColumn<>("p90 Turnaround (min)");
+        colP90.setCellValueFactory(CellValues.of(s -> Double.isNaN(s.getP90Minutes()) ? "-" : String.format("%.0f", s.getP90Minutes())));
+
+        table.getColumns().add(colName);
+        table.getColumns().add(colOpen);
+        table.getColumns().add(colJobs);
+        table.getColumns().add(colJobsHour);
+        table.getColumns().add(colKgHour);
+        table.getColumns().add(colP50);
+        table.getColumns().add(colP90);
+
+        Button btnRefresh = new Button("Refresh");
+        btnRefresh.setOnAction(e -> table.getItems().setAll(controller.getStaffPerformance()));
+
+        refreshers.put("staffPerformance", btnRefresh::fire);
+        btnRefresh.fire();
+
+        HBox tools = new HBox(10, btnRefresh, lblInfo);
+        tools.setAlignment(Pos.CENTER_LEFT);
+
+        VBox content = new VBox(15, title, tools, table);
+        content.setPadding(new Insets(30));
+        return content;
+    }
+
+    // Hours with one decimal, "-" when unknown
+    private static String hours(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.1f", value);
+    }
+
+    // Label / Orders / Kg / Revenue table for one rollup grouping
+    private TableView<RollupTotal> createRollupTable(String labelHeader) {
+        TableView<RollupTotal> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+
+        TableColumn<RollupTotal, String> colLabel = new TableColumn<>(labelHeader);
+        colLabel.setCellValueFactory(CellValues.of(RollupTotal::getLabel));
+
+        TableColumn<RollupTotal, Integer> colOrders = new TableColumn<>("Orders");
+        colOrders.setCellValueFactory(CellValues.of(RollupTotal::getOrderCount));
+
+        TableColumn<RollupTotal, String> colWeight = new TableColumn<>("Kg");
+        colWeight.setCellValueFactory(CellValues.of(r -> String.format("%.1f", r.getTotalWeight())));
+
+        TableColumn<RollupTotal, String> colRevenue = new TableColumn<>("Revenue");
+        colRevenue.setCellValueFactory(CellValues.of(r -> String.format("%.0f", r.getRevenue())));
+
+        table.getColumns().add(colLabel);
+        table.getColumns().add(colOrders);
+        table.getColumns().add(colWeight);
+        table.getColumns().add(colRevenue);
+        return table;
+    }
+
     // ===== POPUPS for ADDING NEW SERVICE =====
     private void showAddServicePopup(Button refreshBtn) {
         Dialog<String> dialog = new Dialog<>();
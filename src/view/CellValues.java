@@ -0,0 +1,31 @@
+package view;
+
+import java.util.function.Function;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.util.Callback;
+
+/**
+ * CellValues
+ * ----------
+ * Typed cell-value factories for TableColumns.
+ *
+ * Replaces PropertyValueFactory, which looks getters up by reflection
+ * for every cell. Here the getter is a method reference checked by the
+ * compiler, e.g. CellValues.of(TransactionModel::getTransactionID).
+ *
+ * Notes:
+ * - For values that can change while shown (e.g. transaction status),
+ *   bind the column to the model's property instead so only that cell updates
+ */
+
+public final class CellValues {
+	
+	private CellValues() {}
+	
+	public static <S, T> Callback<CellDataFeatures<S, T>, ObservableValue<T>> of(Function<S, T> getter) {
+		return cell -> new ReadOnlyObjectWrapper<>(getter.apply(cell.getValue()));
+	}
+}
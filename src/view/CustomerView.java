@@ -1,17 +1,28 @@
 package view;
 
 import controller.CustomerController;
+import controller.LoginController;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
 import main.Main;
+import model.EtaEstimate;
 import model.NotificationModel;
 import model.ServiceModel;
 import model.TransactionModel;
@@ -40,6 +51,13 @@ public class CustomerView {
     private CustomerController controller;
     private BorderPane root;
     
+    private static final DateTimeFormatter ETA_FORMAT = DateTimeFormatter.ofPattern("EEE d MMM, HH:mm").withZone(ZoneId.systemDefault());
+    
+    // Sections are built once on first use and reused for the session,
+    // re-showing one only reloads its data
+    private final Map<String, VBox> sections = new HashMap<>();
+    private final Map<String, Runnable> refreshers = new HashMap<>();
+    
     // Set the Controller to CustomerController and the current user to this
     public CustomerView(Stage stage, UserModel customer) {
         this.stage = stage;
@@ -48,7 +66,7 @@ public class CustomerView {
 
         root = new BorderPane();
         root.setLeft(createSidebar());
-        root.setCenter(createTransactionHistorySection());
+        showSection("history", this::createTransactionHistorySection);
 
         Scene scene = new Scene(root, Main.WIDTH, Main.HEIGHT);
         stage.setScene(scene);
@@ -69,11 +87,15 @@ public class CustomerView {
         Button btnNewOrder = createNavButton("New Transaction");
         Button btnHistory = createNavButton("My History");
         Button btnNotif = createNavButton("Notifications");
+        Button btnLock = createNavButton("Lock Terminal");
         Button btnLogout = createNavButton("Log Out");
 
-        btnNewOrder.setOnAction(e -> root.setCenter(createTransactionSection()));
-        btnHistory.setOnAction(e -> root.setCenter(createTransactionHistorySection()));
-        btnNotif.setOnAction(e -> root.setCenter(createNotificationSection()));
+        btnNewOrder.setOnAction(e -> showSection("newOrder", this::createTransactionSection));
+        btnHistory.setOnAction(e -> showSection("history", this::createTransactionHistorySection));
+        btnNotif.setOnAction(e -> showSection("notifications", this::createNotificationSection));
+
+        // Lock keeps the session, only hides the dashboard
+        btnLock.setOnAction(e -> LockScreen.lock(stage));
 
         // Logout Confirmation
         btnLogout.setOnAction(e -> {
@@ -84,14 +106,27 @@ public class CustomerView {
 
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                new LoginView(stage);
+                new LoginController().logout();
+                LoginView.show(stage);
             }
         });
 
-        sidebar.getChildren().addAll(lblWelcome, new Separator(), btnNewOrder, btnHistory, btnNotif, new Separator(), btnLogout);
+        sidebar.getChildren().addAll(lblWelcome, new Separator(), btnNewOrder, btnHistory, btnNotif, new Separator(), btnLock, btnLogout);
         return sidebar;
     }
 
+    // Show a cached section (build it on first use, otherwise just refresh its data)
+    private void showSection(String key, Supplier<VBox> builder) {
+        VBox section = sections.get(key);
+        if (section == null) {
+            section = builder.get();
+            sections.put(key, section);
+        } else if (refreshers.containsKey(key)) {
+            refreshers.get(key).run();
+        }
+        root.setCenter(section);
+    }
+
     private Button createNavButton(String text) {
         Button btn = new Button(text);
         btn.setMaxWidth(Double.MAX_VALUE);
@@ -114,7 +149,7 @@ public class CustomerView {
         cmbServices.setPromptText("Choose a service...");
         cmbServices.setMaxWidth(300);
 
-        // Populate ComboBox from Controller
+        // Populate ComboBox from Controller (again whenever the form is re-shown)
         cmbServices.getItems().setAll(controller.getAllServices());
 
         // Display Service Name properly in the dropdown
@@ -137,6 +172,11 @@ public class CustomerView {
         txtServiceInfo.setPrefHeight(80);
         txtServiceInfo.setWrapText(true);
 
+        // Estimated ready time for the selected service (current queue + history)
+        Label lblEta = new Label();
+        lblEta.setMaxWidth(300);
+        lblEta.setWrapText(true);
+
         // Update Info Box when selection changes
         cmbServices.setOnAction(e -> {
             ServiceModel selected = cmbServices.getValue();
@@ -147,6 +187,12 @@ public class CustomerView {
                     "Duration: " + selected.getServiceDuration() + " days"
                 );
             }
+            showEstimate(lblEta, controller.estimateReadyTime(selected));
+        });
+
+        refreshers.put("newOrder", () -> {
+            if (cmbServices.getValue() == null) cmbServices.getItems().setAll(controller.getAllServices());
+            else showEstimate(lblEta, controller.estimateReadyTime(cmbServices.getValue()));	// The queue may have moved since
         });
 
         // Weight and Notes
@@ -185,6 +231,7 @@ public class CustomerView {
                 // Reset form
                 cmbServices.getSelectionModel().clearSelection();
                 txtServiceInfo.clear();
+                lblEta.setText("");
                 txtWeight.clear();
                 txtNotes.clear();
             } else {
@@ -195,7 +242,7 @@ public class CustomerView {
 
         VBox content = new VBox(10, 
             sectionTitle, 
-            lblService, cmbServices, txtServiceInfo,
+            lblService, cmbServices, txtServiceInfo, lblEta,
             new Label("Weight (kg):"), txtWeight, 
             new Label("Notes:"), txtNotes, 
             btnCreate, lblResult
@@ -204,6 +251,19 @@ public class CustomerView {
         return content;
     }
 
+    // "Estimated ready: Tue 21 Oct, 14:30 (in about 5 hours)", with a warning when past the promised duration
+    private void showEstimate(Label label, EtaEstimate eta) {
+        if (eta == null) {
+            label.setText("");
+            return;
+        }
+        String text = "Estimated ready: " + ETA_FORMAT.format(Instant.ofEpochMilli(eta.getReadyAt()))
+            + " (in about " + eta.getHoursFromNow() + " hours, based on " + eta.getBasis() + ")";
+        if (eta.isLate()) text += "\nWe are busier than usual, so this is later than the service duration.";
+        label.setText(text);
+        label.setStyle(eta.isLate() ? "-fx-text-fill: #d35400;" : "-fx-text-fill: #27ae60;");
+    }
+
     // =======
     // HISTORY
     // =======
@@ -216,23 +276,32 @@ public class CustomerView {
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
 
         TableColumn<TransactionModel, Integer> colID = new TableColumn<>("ID");
-        colID.setCellValueFactory(new PropertyValueFactory<>("transactionID"));
+        colID.setCellValueFactory(CellValues.of(TransactionModel::getTransactionID));
 
         TableColumn<TransactionModel, String> colStatus = new TableColumn<>("Status");
-        colStatus.setCellValueFactory(new PropertyValueFactory<>("transactionStatus"));
+        colStatus.setCellValueFactory(c -> c.getValue().transactionStatusProperty());
 
         TableColumn<TransactionModel, String> colDate = new TableColumn<>("Date");
-        colDate.setCellValueFactory(new PropertyValueFactory<>("transactionDate"));
+        colDate.setCellValueFactory(CellValues.of(TransactionModel::getTransactionDate));
+
+        // Estimated ready time of open orders (computed in memory on each refresh)
+        TableColumn<TransactionModel, String> colEta = new TableColumn<>("Est. Ready");
+        colEta.setCellValueFactory(CellValues.of(t -> {
+            EtaEstimate eta = controller.estimateReadyTime(t);
+            return eta == null ? "-" : ETA_FORMAT.format(Instant.ofEpochMilli(eta.getReadyAt()));
+        }));
 
         table.getColumns().add(colID);
         table.getColumns().add(colStatus);
         table.getColumns().add(colDate);
+        table.getColumns().add(colEta);
 
         Button btnRefresh = new Button("Refresh Data");
         btnRefresh.setOnAction(e -> {
             table.getItems().setAll(controller.getTransactionHistory(customer.getUserID()));
         });
         
+        refreshers.put("history", btnRefresh::fire);
         btnRefresh.fire(); 
 
         VBox content = new VBox(15, sectionTitle, btnRefresh, table);
@@ -249,31 +318,70 @@ public class CustomerView {
         
         ListView<NotificationModel> listView = new ListView<>();
         
+        // Search box: empty = whole inbox, otherwise full-text matches (newest first / best match first)
+        TextField txtSearch = new TextField();
+        txtSearch.setPromptText("Search notifications...");
+        txtSearch.setPrefWidth(260);
+        String[] searchText = { null };
+        
+        // Paging state: more pages are fetched as the user scrolls to the bottom
+        // (keyset cursor = last row fetched; kept apart from the list, whose rows can be deleted)
+        boolean[] hasMore = { true };
+        boolean[] loading = { false };
+        NotificationModel[] last = { null };
+        Runnable loadNextPage = () -> {
+            if (!hasMore[0] || loading[0]) return;
+            loading[0] = true;
+            
+            List<NotificationModel> page = searchText[0] == null
+                ? controller.getNotificationPage(customer.getUserID(), last[0])
+                : controller.searchNotifications(customer.getUserID(), searchText[0], last[0]);
+            listView.getItems().addAll(page);
+            if (!page.isEmpty()) last[0] = page.get(page.size() - 1);
+            hasMore[0] = page.size() == CustomerController.NOTIFICATION_PAGE_SIZE;
+            loading[0] = false;
+        };
+        
         listView.setCellFactory(param -> new ListCell<>() {
             @Override
             protected void updateItem(NotificationModel n, boolean empty) {
                 super.updateItem(n, empty);
+                textProperty().unbind();
+                styleProperty().unbind();
+                
                 if (empty || n == null) {
                     setText(null);
+                    setStyle("");
                 } else {
-                    String status = n.isRead() ? "" : "[NEW] ";
-                    setText(status + n.getMessage() + " (" + n.getCreatedAt() + ")");
-                    if (!n.isRead()) setStyle("-fx-font-weight: bold;");
-                    else setStyle("");
+                    String line = n.getPreview() + " (" + n.getCreatedAt() + ")";
+                    
+                    // Bound to the read state, so marking as read restyles just this cell
+                    textProperty().bind(Bindings.when(n.readProperty()).then(line).otherwise("[NEW] " + line));
+                    styleProperty().bind(Bindings.when(n.readProperty()).then("").otherwise("-fx-font-weight: bold;"));
+                    
+                    // Last loaded row became visible => fetch the next page
+                    if (getIndex() == getListView().getItems().size() - 1) {
+                        Platform.runLater(loadNextPage);
+                    }
                 }
             }
         });
 
+        // Allow selecting several notifications for bulk actions
+        listView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
         Button btnRead = new Button("Read Message");
         Button btnRefresh = new Button("Refresh");
         Button btnDelete = new Button("Delete");
+        Button btnMarkRead = new Button("Mark Selected Read");
+        Button btnMarkAll = new Button("Mark All Read");
+        Button btnDeleteRead = new Button("Delete All Read");
 
         // Open Notification Detail and set isRead
         btnRead.setOnAction(e -> {
             NotificationModel selected = listView.getSelectionModel().getSelectedItem();
             if (selected != null) {
                 showNotificationDetailPopup(selected);
-                btnRefresh.fire();
             } else {
                 Alert alert = new Alert(Alert.AlertType.WARNING);
                 alert.setContentText("Please select a notification to read.");
@@ -281,23 +389,59 @@ public class CustomerView {
             }
         });
         
-        // Delete the Notifications
+        // Delete the selected Notifications (one statement for the whole selection)
         btnDelete.setOnAction(e -> {
-            NotificationModel selected = listView.getSelectionModel().getSelectedItem();
-            if (selected != null) {
-                selected.delete();
+            List<NotificationModel> selected = new ArrayList<>(listView.getSelectionModel().getSelectedItems());
+            if (!selected.isEmpty()) {
+                controller.deleteNotifications(customer.getUserID(), selected);
+                listView.getItems().removeAll(selected);
+            }
+        });
+        
+        btnMarkRead.setOnAction(e -> {
+            List<NotificationModel> selected = new ArrayList<>(listView.getSelectionModel().getSelectedItems());
+            if (!selected.isEmpty()) {
+                controller.markNotificationsRead(customer.getUserID(), selected);
+            }
+        });
+        
+        btnMarkAll.setOnAction(e -> {
+            controller.markAllNotificationsRead(customer.getUserID());
+            btnRefresh.fire();
+        });
+        
+        // Confirmation before clearing all read notifications
+        btnDeleteRead.setOnAction(e -> {
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setHeaderText(null);
+            confirm.setContentText("Delete all notifications you have already read?");
+            Optional<ButtonType> res = confirm.showAndWait();
+            
+            if (res.isPresent() && res.get() == ButtonType.OK) {
+                controller.deleteReadNotifications(customer.getUserID());
                 btnRefresh.fire();
             }
         });
 
+        // Reset paging and load the first page again
         btnRefresh.setOnAction(e -> {
-            listView.getItems().setAll(controller.getNotifications(customer.getUserID()));
+            String text = txtSearch.getText();
+            searchText[0] = (text == null || text.isBlank()) ? null : text.trim();
+            listView.getItems().clear();
+            last[0] = null;
+            hasMore[0] = true;
+            loadNextPage.run();
         });
         
+        refreshers.put("notifications", btnRefresh::fire);
         btnRefresh.fire();
 
-        HBox buttons = new HBox(10, btnRefresh, btnRead, btnDelete);
-        VBox content = new VBox(15, sectionTitle, buttons, listView);
+        // Enter in the search box runs the search (same reset as Refresh)
+        txtSearch.setOnAction(e -> btnRefresh.fire());
+        
+        HBox buttons = new HBox(10, txtSearch, btnRefresh, btnRead, btnDelete);
+        HBox bulkButtons = new HBox(10, btnMarkRead, btnMarkAll, btnDeleteRead);
+        VBox content = new VBox(15, sectionTitle, buttons, bulkButtons, listView);
         content.setPadding(new Insets(40));
         return content;
     }
@@ -312,7 +456,8 @@ public class CustomerView {
         alert.setTitle("Notification Detail");
         alert.setHeaderText("Sent on: " + n.getCreatedAt());
         
-        TextArea area = new TextArea(n.getMessage());
+        // List only holds a preview, fetch the full body now
+        TextArea area = new TextArea(controller.getNotificationMessage(n));
         area.setWrapText(true);
         area.setEditable(false);
         
@@ -0,0 +1,80 @@
+package view;
+
+import controller.LoginController;
+import controller.Session;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+/**
+ * LockScreen
+ * ----------
+ * Covers the current dashboard while the terminal is locked.
+ *
+ * Responsibilities:
+ * - Hide the dashboard without ending the session
+ * - Unlock with the signed-in user's password (checked in memory, no database query)
+ * - Allow switching to another user (ends the session, back to LoginView)
+ *
+ * Notes:
+ * - The dashboard is kept as-is and restored on unlock, nothing is rebuilt
+ */
+
+public class LockScreen {
+	
+	// Lock the terminal showing on this stage
+	public static void lock(Stage stage) {
+		LoginController controller = new LoginController();
+		Session session = controller.getCurrentSession();
+		if (session == null) return;
+		
+		controller.lockTerminal();
+		
+		Scene scene = stage.getScene();
+		Parent dashboard = scene.getRoot();
+		
+		Label title = new Label("Terminal Locked");
+		title.setStyle("-fx-font-size: 26px; -fx-font-weight: bold;");
+		
+		Label lblUser = new Label("Signed in as " + session.getUser().getUserName());
+		lblUser.setStyle("-fx-font-size: 14px;");
+		
+		PasswordField txtPassword = new PasswordField();
+		txtPassword.setPromptText("Password");
+		txtPassword.setMaxWidth(250);
+		
+		Button btnUnlock = new Button("Unlock");
+		Button btnSwitch = new Button("Switch User");
+		btnUnlock.setPrefWidth(200);
+		btnSwitch.setPrefWidth(200);
+		btnUnlock.setDefaultButton(true);
+		
+		Label lblMessage = new Label();
+		lblMessage.setStyle("-fx-text-fill: red; -fx-font-size: 13px;");
+		
+		btnUnlock.setOnAction(e -> {
+			if (controller.unlockTerminal(txtPassword.getText())) {
+				scene.setRoot(dashboard);
+			} else {
+				lblMessage.setText("Incorrect password.");
+				txtPassword.clear();
+			}
+		});
+		
+		btnSwitch.setOnAction(e -> {
+			controller.logout();
+			LoginView.show(stage);
+		});
+		
+		VBox root = new VBox(20, title, lblUser, txtPassword, btnUnlock, btnSwitch, lblMessage);
+		root.setPadding(new Insets(40));
+		root.setAlignment(Pos.CENTER);
+		
+		scene.setRoot(root);
+		txtPassword.requestFocus();
+	}
+}
@@ -29,8 +29,26 @@ import model.UserModel;
 public class LoginView {
 	// Set the Controller to loginController
 	private LoginController loginController;
-
-    public LoginView(Stage stage) {
+	
+	// The login screen is built once per stage and reused on every logout
+	private static LoginView cached;
+	private final Stage stage;
+	private final Scene scene;
+	private final TextField txtUsername;
+	private final PasswordField txtPassword;
+	private final Label lblMessage;
+	
+	// Show the login screen, reusing the one already built for this stage
+	public static void show(Stage stage) {
+		if (cached == null || cached.stage != stage) {
+			cached = new LoginView(stage);
+		} else {
+			cached.reset();
+		}
+	}
+
+    private LoginView(Stage stage) {
+        this.stage = stage;
 
         // ===== Title =====
         Label title = new Label("Login");
@@ -47,8 +65,8 @@ public class LoginView {
         lblPassword.setStyle("-fx-font-size: 14px;");
 
         // ===== Input Fields =====
-        TextField txtUsername = new TextField();
-        PasswordField txtPassword = new PasswordField();
+        txtUsername = new TextField();
+        txtPassword = new PasswordField();
 
         txtUsername.setPrefWidth(250);
         txtPassword.setPrefWidth(250);
@@ -61,7 +79,7 @@ public class LoginView {
         btnGuest.setPrefWidth(200);
 
         // ===== Message Label =====
-        Label lblMessage = new Label();
+        lblMessage = new Label();
         lblMessage.setStyle("-fx-text-fill: red; -fx-font-size: 13px;");
 
         // ===== Form Layout =====
@@ -89,7 +107,7 @@ public class LoginView {
         );
 
         // ===== Scene =====
-        Scene scene = new Scene(root, Main.WIDTH, Main.HEIGHT);
+        scene = new Scene(root, Main.WIDTH, Main.HEIGHT);
         stage.setTitle("Login Page");
         stage.setScene(scene);
         stage.show();
@@ -111,6 +129,18 @@ public class LoginView {
         btnGuest.setOnAction(e -> new RegisterView(stage));
     }
     
+    // Clear the form and put the cached scene back on the stage
+    private void reset() {
+        txtUsername.clear();
+        txtPassword.clear();
+        lblMessage.setText("");
+        
+        stage.setTitle("Login Page");
+        stage.setScene(scene);
+        stage.show();
+        txtUsername.requestFocus();
+    }
+    
     // === Function for redirecting according to roles ===
     private void redirectUser(Stage stage, UserModel user) {
         String role = user.getUserRole();
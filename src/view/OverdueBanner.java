@@ -0,0 +1,91 @@
+package view;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.util.Duration;
+import model.OverdueAlert;
+
+/**
+ * OverdueBanner
+ * -------------
+ * Red bar shown on staff dashboards while any open order is past its due date.
+ *
+ * Responsibilities:
+ * - Poll the in-memory overdue list (no database query) every few seconds
+ * - Hide itself when nothing is overdue
+ * - Show the overdue orders on request
+ *
+ * Notes:
+ * - Polls only while the banner is part of a scene (stops on lock / logout)
+ */
+
+public class OverdueBanner {
+	
+	private static final Duration POLL_INTERVAL = Duration.seconds(10);
+	private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+	
+	// source = overdue alerts, names = user ID -> display name
+	public static HBox create(Supplier<List<OverdueAlert>> source, Function<Integer, String> names) {
+		Label lblCount = new Label();
+		lblCount.setStyle("-fx-text-fill: white; -fx-font-weight: bold;");
+		Button btnDetails = new Button("Show");
+		
+		HBox banner = new HBox(10, lblCount, btnDetails);
+		banner.setAlignment(Pos.CENTER_LEFT);
+		banner.setPadding(new Insets(6, 12, 6, 12));
+		banner.setStyle("-fx-background-color: #c0392b;");
+		banner.managedProperty().bind(banner.visibleProperty());	// Takes no space while hidden
+		
+		Runnable refresh = () -> {
+			int count = source.get().size();
+			banner.setVisible(count > 0);
+			lblCount.setText(count + (count == 1 ? " order is" : " orders are") + " past the due date");
+		};
+		
+		btnDetails.setOnAction(e -> {
+			StringBuilder text = new StringBuilder();
+			for (OverdueAlert a : source.get()) {
+				text.append(String.format("#%d  customer %s  staff %s  due %s  (%d h overdue)%n",
+						a.getTransactionID(), names.apply(a.getCustomerID()), names.apply(a.getStaffID()),
+						DUE_FORMAT.format(Instant.ofEpochMilli(a.getDueAt()).atZone(ZoneId.systemDefault())),
+						a.getHoursOverdue()));
+			}
+			
+			TextArea area = new TextArea(text.toString());
+			area.setEditable(false);
+			Alert alert = new Alert(Alert.AlertType.WARNING);
+			alert.setTitle("Overdue Orders");
+			alert.setHeaderText(null);
+			alert.getDialogPane().setContent(area);
+			alert.show();
+		});
+		
+		Timeline poll = new Timeline(new KeyFrame(POLL_INTERVAL, e -> refresh.run()));
+		poll.setCycleCount(Timeline.INDEFINITE);
+		banner.sceneProperty().addListener((obs, oldScene, newScene) -> {
+			if (newScene == null) {
+				poll.stop();
+			} else {
+				refresh.run();
+				poll.play();
+			}
+		});
+		
+		refresh.run();
+		return banner;
+	}
+}
@@ -1,17 +1,19 @@
 package view;
 
 import controller.ReceptionistController;
+import controller.LoginController;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import main.Main;
 import model.TransactionModel;
+import model.TransactionSummary;
 import model.UserModel;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,6 +25,7 @@ import java.util.Optional;
  * - Display receptionist dashboard and navigation sidebar
  * - Show unassigned transactions and available laundry staff
  * - Allow assignment of transactions to staff
+ * - Show a banner while any order is overdue
  * - Handle UI events such as button clicks and table selections
  *
  * Notes:
@@ -38,6 +41,10 @@ public class ReceptionistView {
     private ReceptionistController controller;
     private BorderPane root;
     
+    // Assignment section is built once and reused, re-showing it only reloads the lists
+    private VBox assignmentSection;
+    private Runnable refreshAssignment;
+    
     // Set the Controller to ReceptionistController and the current user to this
     public ReceptionistView(Stage stage, UserModel receptionistUser) {
         this.stage = stage;
@@ -46,7 +53,8 @@ public class ReceptionistView {
 
         root = new BorderPane();
         root.setLeft(createSidebar());
-        root.setCenter(createAssignmentSection());
+        assignmentSection = createAssignmentSection();
+        root.setCenter(assignmentSection);
 
         Scene scene = new Scene(root, Main.WIDTH, Main.HEIGHT);
         stage.setScene(scene);
@@ -68,10 +76,17 @@ public class ReceptionistView {
         lblUser.setStyle("-fx-text-fill: lightgray; -fx-font-size: 14px;");
 
         Button btnAssign = createNavButton("Assign Tasks");
+        Button btnLock = createNavButton("Lock Terminal");
         Button btnLogout = createNavButton("Log Out");
 
-        btnAssign.setOnAction(e -> root.setCenter(createAssignmentSection()));
+        btnAssign.setOnAction(e -> {
+            refreshAssignment.run();
+            root.setCenter(assignmentSection);
+        });
         
+        // Lock keeps the session, only hides the dashboard
+        btnLock.setOnAction(e -> LockScreen.lock(stage));
+
         // Logout Confirmation
         btnLogout.setOnAction(e -> {
             Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -81,11 +96,12 @@ public class ReceptionistView {
 
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                new LoginView(stage);
+                new LoginController().logout();
+                LoginView.show(stage);
             }
         });
 
-        sidebar.getChildren().addAll(lblTitle, lblUser, new Separator(), btnAssign, new Separator(), btnLogout);
+        sidebar.getChildren().addAll(lblTitle, lblUser, new Separator(), btnAssign, new Separator(), btnLock, btnLogout);
         return sidebar;
     }
     
@@ -107,26 +123,38 @@ public class ReceptionistView {
         title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
 
         // === LEFT TABLE: Unassigned Transactions ===
-        // Display transaction ID, Date, Weight
+        // Display transaction ID, Date, Customer, Service, Weight
         Label lblLeft = new Label("Pending Transactions (Unassigned)");
         lblLeft.setStyle("-fx-font-weight: bold;");
         
-        TableView<TransactionModel> tableTrans = new TableView<>();
+        TableView<TransactionSummary> tableTrans = new TableView<>();
         tableTrans.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
         
-        TableColumn<TransactionModel, Integer> colID = new TableColumn<>("ID");
-        colID.setCellValueFactory(new PropertyValueFactory<>("transactionID"));
+        TableColumn<TransactionSummary, Integer> colID = new TableColumn<>("ID");
+        colID.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionID));
+        
+        TableColumn<TransactionSummary, String> colDate = new TableColumn<>("Date");
+        colDate.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionDate));
+        
+        TableColumn<TransactionSummary, String> colCustomer = new TableColumn<>("Customer");
+        colCustomer.setCellValueFactory(CellValues.of(TransactionSummary::getCustomerName));
         
-        TableColumn<TransactionModel, String> colDate = new TableColumn<>("Date");
-        colDate.setCellValueFactory(new PropertyValueFactory<>("transactionDate"));
+        TableColumn<TransactionSummary, String> colService = new TableColumn<>("Service");
+        colService.setCellValueFactory(CellValues.of(TransactionSummary::getServiceName));
         
-        TableColumn<TransactionModel, Double> colWeight = new TableColumn<>("Weight");
-        colWeight.setCellValueFactory(new PropertyValueFactory<>("totalWeight"));
+        TableColumn<TransactionSummary, Double> colWeight = new TableColumn<>("Weight");
+        colWeight.setCellValueFactory(CellValues.of(TransactionSummary::getTotalWeight));
         
         tableTrans.getColumns().add(colID);
         tableTrans.getColumns().add(colDate);
+        tableTrans.getColumns().add(colCustomer);
+        tableTrans.getColumns().add(colService);
         tableTrans.getColumns().add(colWeight);
 
+        // Orders are loaded one page at a time
+        Button btnMore = new Button("Load More Orders");
+        Label lblCount = new Label();
+
         // === RIGHT TABLE: Laundry Staff List ===
         // Display Staff ID, Name
         Label lblRight = new Label("Available Laundry Staff");
@@ -136,17 +164,22 @@ public class ReceptionistView {
         tableStaff.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
         
         TableColumn<UserModel, Integer> colStaffID = new TableColumn<>("Staff ID");
-        colStaffID.setCellValueFactory(new PropertyValueFactory<>("userID"));
+        colStaffID.setCellValueFactory(CellValues.of(UserModel::getUserID));
         
         TableColumn<UserModel, String> colStaffName = new TableColumn<>("Name");
-        colStaffName.setCellValueFactory(new PropertyValueFactory<>("userName"));
+        colStaffName.setCellValueFactory(CellValues.of(UserModel::getUserName));
+        
+        // Current workload, so the receptionist can pick the least busy staff
+        TableColumn<UserModel, Integer> colOpenJobs = new TableColumn<>("Open Jobs");
+        colOpenJobs.setCellValueFactory(CellValues.of(controller::getOpenJobCount));
         
         tableStaff.getColumns().add(colStaffID);
         tableStaff.getColumns().add(colStaffName);
+        tableStaff.getColumns().add(colOpenJobs);
 
         // === LAYOUT FOR TABLES ===
         // Using HBox to put them side by side
-        VBox leftBox = new VBox(5, lblLeft, tableTrans);
+        VBox leftBox = new VBox(5, lblLeft, tableTrans, new HBox(10, btnMore, lblCount));
         VBox rightBox = new VBox(5, lblRight, tableStaff);
         
         // Allow them to grow and fill space equally
@@ -161,15 +194,31 @@ public class ReceptionistView {
         btnAssign.setStyle("-fx-font-weight: bold; -fx-base: #2ecc71;");
         Button btnRefresh = new Button("Refresh Lists");
 
+        // Last order fetched (keyset cursor; the table may be re-sorted by the user)
+        TransactionSummary[] last = { null };
+
+        Runnable loadPage = () -> {
+            List<TransactionSummary> page = controller.getUnassignedTransactions(last[0]);
+            tableTrans.getItems().addAll(page);
+            if (!page.isEmpty()) last[0] = page.get(page.size() - 1);
+
+            boolean more = page.size() == TransactionModel.PAGE_SIZE;
+            btnMore.setDisable(!more);
+            lblCount.setText(tableTrans.getItems().size() + " orders shown" + (more ? " (more available)" : ""));
+        };
+
         // Logic: Refresh
         btnRefresh.setOnAction(e -> {
-            tableTrans.getItems().setAll(controller.getUnassignedTransactions());
+            tableTrans.getItems().clear();
+            last[0] = null;
+            loadPage.run();
             tableStaff.getItems().setAll(controller.getLaundryStaffList());
         });
+        btnMore.setOnAction(e -> loadPage.run());
 
         // Logic: Assign
         btnAssign.setOnAction(e -> {
-            TransactionModel selectedTrans = tableTrans.getSelectionModel().getSelectedItem();
+            TransactionSummary selectedTrans = tableTrans.getSelectionModel().getSelectedItem();
             UserModel selectedStaff = tableStaff.getSelectionModel().getSelectedItem();
 
             // Call Controller
@@ -192,9 +241,13 @@ public class ReceptionistView {
         });
 
         // Initial Load
+        refreshAssignment = btnRefresh::fire;
         btnRefresh.fire();
 
-        VBox content = new VBox(15, title, tablesContainer, btnAssign, btnRefresh);
+        // Overdue orders (due-date timers run in memory)
+        HBox overdueBanner = OverdueBanner.create(controller::getOverdueAlerts, controller::getUserName);
+
+        VBox content = new VBox(15, overdueBanner, title, tablesContainer, btnAssign, btnRefresh);
         content.setPadding(new Insets(30));
         content.setAlignment(Pos.TOP_CENTER);
         return content;
@@ -1,5 +1,11 @@
 package view;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+import javafx.animation.PauseTransition;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -7,6 +13,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import main.Main;
 import model.UserModel;
 
@@ -21,6 +28,7 @@ import controller.RegisterController;
  * Responsibilities:
  * - Collect registration data
  * - Display validation messages
+ * - Show live username / email availability while typing
  * - Submit data to controller for processing
  *
  * MVC Role:
@@ -38,6 +46,15 @@ public class RegisterView {
     private PasswordField txtConfirm;
     private ToggleGroup genderGroup;
     private DatePicker datePicker;
+    
+    // === Live availability check (debounced, runs off the FX thread) ===
+    private static final Duration CHECK_DELAY = Duration.millis(400);
+    private static final ExecutorService checkExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "availability-check");
+        t.setDaemon(true);
+        return t;
+    });
+    private final RegisterController controller = new RegisterController();
 
     public RegisterView(Stage stage) {
 
@@ -74,11 +91,18 @@ public class RegisterView {
         form.setVgap(15);
         form.setAlignment(Pos.CENTER);
 
+        Label lblUsernameStatus = new Label();
+        Label lblEmailStatus = new Label();
+        lblUsernameStatus.setMinWidth(130);
+        lblEmailStatus.setMinWidth(130);
+
         form.add(new Label("Username:"), 0, 0);
         form.add(txtUsername, 1, 0);
+        form.add(lblUsernameStatus, 2, 0);
 
         form.add(new Label("Email:"), 0, 1);
         form.add(txtEmail, 1, 1);
+        form.add(lblEmailStatus, 2, 1);
 
         form.add(new Label("Password:"), 0, 2);
         form.add(txtPassword, 1, 2);
@@ -99,6 +123,10 @@ public class RegisterView {
         stage.setScene(new Scene(root, Main.WIDTH, Main.HEIGHT));
         stage.setTitle("Register");
         stage.show();
+        
+        // ===== As-you-type availability =====
+        setupAvailabilityCheck(txtUsername, lblUsernameStatus, "Username", controller::isUsernameTaken);
+        setupAvailabilityCheck(txtEmail, lblEmailStatus, "Email", controller::isEmailTaken);
 
         // ===== Register Button =====
         btnRegister.setOnAction(e -> {
@@ -125,8 +153,6 @@ public class RegisterView {
                 "CUSTOMER"
             );
             
-            // Set controller to RegisterController
-            RegisterController controller = new RegisterController();
             String result = controller.register(user, txtConfirm.getText());
             
             // Show if register is successfull
@@ -139,16 +165,13 @@ public class RegisterView {
                 // Wait for user to click OK
                 alert.showAndWait();
 
-                // Auto-Login to get the real UserID from Database
-                LoginController loginHelper = new LoginController();
-                UserModel loggedInUser = loginHelper.validateLogin(txtUsername.getText(), txtPassword.getText());
-
-                // Redirect to Customer Dashboard
-                if (loggedInUser != null) {
-                    new CustomerView(stage, loggedInUser);
+                // Hand off directly to a session (save() already filled in the new UserID)
+                if (user.getUserID() > 0) {
+                    new LoginController().startSession(user, txtPassword.getText());
+                    new CustomerView(stage, user);
                 } else {
                     // Fallback if something weird happens
-                    new LoginView(stage);
+                    LoginView.show(stage);
                 }
 
             } else {
@@ -157,7 +180,42 @@ public class RegisterView {
             }
         });
 
-        btnBack.setOnAction(e -> new LoginView(stage));
+        btnBack.setOnAction(e -> LoginView.show(stage));
+    }
+    
+    // Checks availability once the user pauses typing (debounced).
+    // A newer check cancels the one still in flight, and a result is only shown
+    // if the field still contains the value that was checked.
+    private void setupAvailabilityCheck(TextField field, Label status, String what, Predicate<String> isTaken) {
+        PauseTransition pause = new PauseTransition(CHECK_DELAY);
+        Task<?>[] inFlight = { null };
+        
+        field.textProperty().addListener((obs, oldText, newText) -> {
+            status.setText("");
+            if (inFlight[0] != null) inFlight[0].cancel();
+            pause.playFromStart();
+        });
+        
+        pause.setOnFinished(e -> {
+            String value = field.getText().trim();
+            if (value.isEmpty()) return;
+            
+            Task<Boolean> task = new Task<>() {
+                @Override
+                protected Boolean call() {
+                    return isTaken.test(value);
+                }
+            };
+            task.setOnSucceeded(ev -> {
+                if (!value.equals(field.getText().trim())) return;	// Stale result
+                boolean taken = task.getValue();
+                status.setText(taken ? what + " taken" : what + " available");
+                status.setStyle(taken ? "-fx-text-fill: red;" : "-fx-text-fill: green;");
+            });
+            
+            inFlight[0] = task;
+            checkExecutor.submit(task);
+        });
     }
     
     // Validation messasge guide
@@ -1,17 +1,19 @@
 package view;
 
 import controller.StaffController;
+import controller.LoginController;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import main.Main;
 import model.TransactionModel;
+import model.TransactionSummary;
 import model.UserModel;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -36,6 +38,10 @@ public class StaffView {
     private UserModel staffUser;
     private StaffController controller;
     private BorderPane root;
+    
+    // Work area is built once and reused, re-showing it only reloads the queue
+    private VBox workArea;
+    private Runnable refreshWorkArea;
 
     // Set the Controller to StaffController and the current user to this
     public StaffView(Stage stage, UserModel staffUser) {
@@ -45,7 +51,8 @@ public class StaffView {
 
         root = new BorderPane();
         root.setLeft(createSidebar());
-        root.setCenter(createWorkArea());
+        workArea = createWorkArea();
+        root.setCenter(workArea);
 
         Scene scene = new Scene(root, Main.WIDTH, Main.HEIGHT);
         stage.setScene(scene);
@@ -67,10 +74,17 @@ public class StaffView {
         lblUser.setStyle("-fx-text-fill: lightgray; -fx-font-size: 14px;");
 
         Button btnJobs = createNavButton("Pending Jobs");
+        Button btnLock = createNavButton("Lock Terminal");
         Button btnLogout = createNavButton("Log Out");
 
         // Navigation Actions
-        btnJobs.setOnAction(e -> root.setCenter(createWorkArea()));
+        btnJobs.setOnAction(e -> {
+            refreshWorkArea.run();
+            root.setCenter(workArea);
+        });
+
+        // Lock keeps the session, only hides the dashboard
+        btnLock.setOnAction(e -> LockScreen.lock(stage));
 
         // Logout Confirmation
         btnLogout.setOnAction(e -> {
@@ -81,11 +95,12 @@ public class StaffView {
 
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                new LoginView(stage);
+                new LoginController().logout();
+                LoginView.show(stage);
             }
         });
 
-        sidebar.getChildren().addAll(lblTitle, lblUser, new Separator(), btnJobs, new Separator(), btnLogout);
+        sidebar.getChildren().addAll(lblTitle, lblUser, new Separator(), btnJobs, new Separator(), btnLock, btnLogout);
         return sidebar;
     }
 
@@ -106,37 +121,59 @@ public class StaffView {
         Label title = new Label("Pending Job Queue");
         title.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
         
-        // Display transaction ID, ServiceID, Weight, Notes
-        TableView<TransactionModel> table = new TableView<>();
+        // Display transaction ID, Service, Customer, Weight, Notes
+        TableView<TransactionSummary> table = new TableView<>();
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
 
-        TableColumn<TransactionModel, Integer> colID = new TableColumn<>("Job ID");
-        colID.setCellValueFactory(new PropertyValueFactory<>("transactionID"));
+        TableColumn<TransactionSummary, Integer> colID = new TableColumn<>("Job ID");
+        colID.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionID));
 
-        TableColumn<TransactionModel, Integer> colService = new TableColumn<>("Service ID");
-        colService.setCellValueFactory(new PropertyValueFactory<>("serviceID"));
+        TableColumn<TransactionSummary, String> colService = new TableColumn<>("Service");
+        colService.setCellValueFactory(CellValues.of(TransactionSummary::getServiceName));
         
-        TableColumn<TransactionModel, Double> colWeight = new TableColumn<>("Weight (kg)");
-        colWeight.setCellValueFactory(new PropertyValueFactory<>("totalWeight"));
+        TableColumn<TransactionSummary, String> colCustomer = new TableColumn<>("Customer");
+        colCustomer.setCellValueFactory(CellValues.of(TransactionSummary::getCustomerName));
+        
+        TableColumn<TransactionSummary, Double> colWeight = new TableColumn<>("Weight (kg)");
+        colWeight.setCellValueFactory(CellValues.of(TransactionSummary::getTotalWeight));
 
-        TableColumn<TransactionModel, String> colNotes = new TableColumn<>("Notes");
-        colNotes.setCellValueFactory(new PropertyValueFactory<>("transactionNotes"));
+        TableColumn<TransactionSummary, String> colNotes = new TableColumn<>("Notes");
+        colNotes.setCellValueFactory(CellValues.of(TransactionSummary::getTransactionNotes));
 
         table.getColumns().add(colID);
         table.getColumns().add(colService);
+        table.getColumns().add(colCustomer);
         table.getColumns().add(colWeight);
         table.getColumns().add(colNotes);
 
         Button btnFinish = new Button("Mark as Finished");
         Button btnRefresh = new Button("Refresh List");
+        Button btnMore = new Button("Load More");
+        Label lblCount = new Label();
         
-        btnRefresh.setOnAction(e -> {
+        // Last row fetched (keyset cursor; the table may be re-sorted by the user)
+        TransactionSummary[] last = { null };
+        
+        Runnable loadPage = () -> {
         	// Pass the ID of the currently logged-in staff
-            table.getItems().setAll(controller.getPendingTransactions(staffUser.getUserID()));
+            List<TransactionSummary> page = controller.getPendingTransactions(staffUser.getUserID(), last[0]);
+            table.getItems().addAll(page);
+            if (!page.isEmpty()) last[0] = page.get(page.size() - 1);
+            
+            boolean more = page.size() == TransactionModel.PAGE_SIZE;
+            btnMore.setDisable(!more);
+            lblCount.setText(table.getItems().size() + " jobs shown" + (more ? " (more available)" : ""));
+        };
+        
+        btnRefresh.setOnAction(e -> {
+            table.getItems().clear();
+            last[0] = null;
+            loadPage.run();
         });
+        btnMore.setOnAction(e -> loadPage.run());
 
         btnFinish.setOnAction(e -> {
-            TransactionModel selected = table.getSelectionModel().getSelectedItem();
+            TransactionSummary selected = table.getSelectionModel().getSelectedItem();
             if (selected == null) {
                 showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a job to finish.");
                 return;
@@ -148,16 +185,23 @@ public class StaffView {
             Optional<ButtonType> res = confirm.showAndWait();
             
             if (res.isPresent() && res.get() == ButtonType.OK) {
-                controller.finishTransaction(selected);
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Job marked as Finished!");
-                btnRefresh.fire();
+                String result = controller.finishTransaction(selected);
+                if ("Success".equals(result)) {
+                    showAlert(Alert.AlertType.INFORMATION, "Success", "Job marked as Finished!");
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Error", result);
+                }
+                
+                // Finished jobs leave the pending queue either way, no need to reload the whole list
+                table.getItems().remove(selected);
             }
         });
 
         // Initial Load
+        refreshWorkArea = btnRefresh::fire;
         btnRefresh.fire();
 
-        HBox actions = new HBox(10, btnRefresh, btnFinish);
+        HBox actions = new HBox(10, btnRefresh, btnFinish, btnMore, lblCount);
         actions.setAlignment(Pos.CENTER_LEFT);
 
         VBox content = new VBox(15, title, actions, table);